@@ -0,0 +1,4 @@
+#!/bin/sh
+# Runs the benchmarks after `mvn package`; any arguments are passed to JMH, e.g. ./run.sh CrowdStep -p enemies=1000
+cd "$(dirname "$0")" || exit 1
+exec java -cp "target/classes:$(cat target/classpath.txt)" org.openjdk.jmh.Main "$@"
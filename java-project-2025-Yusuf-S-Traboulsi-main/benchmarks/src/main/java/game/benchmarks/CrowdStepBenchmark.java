@@ -0,0 +1,92 @@
+package game.benchmarks;
+
+import city.cs.engine.BoxShape;
+import city.cs.engine.StaticBody;
+import game.characters.enemies.Fly;
+import game.characters.enemies.Snail;
+import game.levelLoader.GameWorld;
+import org.jbox2d.common.Vec2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single physics step of a synthetic world crowded with enemies.
+ * Snails and flies alternate along one long floor, centred on the player, so the same fraction of any crowd is
+ * near the view and the rest shows how much the enemies out of sight cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dgame.noAudio=true"})
+public class CrowdStepBenchmark {
+    /**
+     * The distance between neighbouring enemies along the floor.
+     */
+    private static final float SPACING = 1.5f;
+    /**
+     * The height of the top of the floor.
+     */
+    private static final float FLOOR_TOP = 0;
+    /**
+     * How far either side of its start each fly patrols.
+     */
+    private static final float FLY_PATROL = 2;
+
+    /**
+     * The number of enemies in the world, half snails and half flies.
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int enemies;
+
+    /**
+     * The crowded world.
+     */
+    private GameWorld world;
+
+    /**
+     * Builds the crowded world and lets it settle, once per iteration.
+     */
+    @Setup(Level.Iteration)
+    public void createWorld() {
+        world = new GameWorld(null);
+        float halfLength = enemies * SPACING / 2 + 10;
+        StaticBody floor = new StaticBody(world, new BoxShape(halfLength, 0.5f));
+        floor.setPosition(new Vec2(0, FLOOR_TOP - 0.5f));
+        world.getPlayer().setPosition(new Vec2(0, FLOOR_TOP + 2));
+
+        for (int i = 0; i < enemies; i++) {
+            float x = (i - enemies / 2f) * SPACING;
+            if (i % 2 == 0) {
+                new Snail(world, x, FLOOR_TOP + 0.5f, world.getPlayer(), null);
+            } else {
+                new Fly(world, x, FLOOR_TOP + 3, x - FLY_PATROL, x + FLY_PATROL, world.getPlayer(), null);
+            }
+        }
+
+        for (int i = 0; i < 60; i++) {
+            world.oneStep(); // Let everything land before measuring
+        }
+    }
+
+    /**
+     * Steps the crowded world once.
+     */
+    @Benchmark
+    public void step() {
+        world.oneStep();
+    }
+}
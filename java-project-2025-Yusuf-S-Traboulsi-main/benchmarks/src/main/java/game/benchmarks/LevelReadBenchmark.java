@@ -0,0 +1,133 @@
+package game.benchmarks;
+
+import game.levelLoader.FileLevel;
+import game.levelLoader.LevelLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@link LevelLoader#read(String, byte[])} takes to read a level already in memory,
+ * in its text and its compiled form. Besides the game's levels, a generated crowd of 10,000 entities shows how
+ * reading scales. Before measuring, each level is checked to come back from the compiled form exactly as written.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dgame.noAudio=true"})
+public class LevelReadBenchmark {
+    /**
+     * The number of entities in the generated crowd.
+     */
+    private static final int CROWD_SIZE = 10_000;
+
+    /**
+     * The level to read: one of the game's level files, or {@code crowd} for the generated one.
+     */
+    @Param({"level1", "level2", "level3", "crowd"})
+    public String level;
+    /**
+     * The form the level is read from: {@code text} or {@code compiled}.
+     */
+    @Param({"text", "compiled"})
+    public String form;
+
+    /**
+     * The level file's contents in the chosen form.
+     */
+    private byte[] data;
+
+    /**
+     * Loads or generates the level, compiles it and checks that it round-trips.
+     *
+     * @throws IOException If the level cannot be read or does not come back from the compiled form as written.
+     */
+    @Setup(Level.Trial)
+    public void loadLevel() throws IOException {
+        byte[] text = level.equals("crowd") ? crowd() : resource(LevelLoader.DIRECTORY + level + ".level");
+        byte[] compiled = compile(LevelLoader.read(level, text));
+        byte[] recompiled = compile(LevelLoader.read(level, compiled));
+        if (!Arrays.equals(compiled, recompiled)) {
+            throw new IOException(level + " reads back from its compiled form differently");
+        }
+        data = form.equals("compiled") ? compiled : text;
+    }
+
+    /**
+     * Reads the level.
+     *
+     * @return The level, so it counts as used.
+     * @throws IOException If the level is not valid.
+     */
+    @Benchmark
+    public FileLevel read() throws IOException {
+        return LevelLoader.read(level, data);
+    }
+
+    /**
+     * Writes a level in the compiled form.
+     *
+     * @param fileLevel The level.
+     * @return The compiled level.
+     * @throws IOException If it cannot be written.
+     */
+    private static byte[] compile(FileLevel fileLevel) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LevelLoader.write(fileLevel, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads a level file from the resources.
+     *
+     * @param path The resource path.
+     * @return The file's contents.
+     * @throws IOException If the resource cannot be found or read.
+     */
+    private static byte[] resource(String path) throws IOException {
+        try (InputStream in = LevelReadBenchmark.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + path);
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Generates a long level of alternating snails, flies, coins and platforms behind a player.
+     *
+     * @return The level's text.
+     */
+    private static byte[] crowd() {
+        StringBuilder text = new StringBuilder("background /game/resources/background/level1_background.png\n");
+        text.append("player 0 2\n");
+        for (int i = 1; i < CROWD_SIZE; i++) {
+            float x = i * 1.5f;
+            switch (i % 4) {
+                case 0 -> text.append("snail ").append(x).append(" 0.5\n");
+                case 1 -> text.append("fly ").append(x).append(" 3 ").append(x - 2).append(' ').append(x + 2).append('\n');
+                case 2 -> text.append("coin ").append(x).append(" -4.25\n");
+                default -> text.append("platform ").append(x).append(" -7 2 0.5\n");
+            }
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
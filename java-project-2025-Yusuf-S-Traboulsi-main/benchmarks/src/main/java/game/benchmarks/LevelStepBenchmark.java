@@ -0,0 +1,79 @@
+package game.benchmarks;
+
+import game.levelLoader.GameWorld;
+import game.levelLoader.Level;
+import game.simulation.HeadlessRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long each of the game's levels takes to simulate a fixed number of steps from a fresh world.
+ * Nobody is at the controls, so the player stands at the spawn point while the level's enemies and platforms move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dgame.noAudio=true"})
+public class LevelStepBenchmark {
+    /**
+     * The level to step, starting at 1.
+     */
+    @Param({"1", "2", "3"})
+    public int level;
+    /**
+     * The number of steps taken from the fresh world.
+     */
+    @Param({"600"})
+    public int steps;
+
+    /**
+     * The level whose worlds are stepped, read from its file once.
+     */
+    private Level source;
+    /**
+     * The world stepped by the next invocation.
+     */
+    private GameWorld world;
+
+    /**
+     * Reads the level's file.
+     */
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void loadLevel() {
+        source = HeadlessRunner.createLevels().get(level - 1);
+    }
+
+    /**
+     * Builds a fresh world for the level before every invocation, so each one starts from the same state.
+     */
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void createWorld() {
+        world = source.createWorld();
+    }
+
+    /**
+     * Steps the level's world.
+     *
+     * @return The world, so its final state counts as used.
+     */
+    @Benchmark
+    public GameWorld step() {
+        for (int i = 0; i < steps; i++) {
+            world.oneStep();
+        }
+        return world;
+    }
+}
@@ -0,0 +1,60 @@
+package game.benchmarks;
+
+import game.levelLoader.GameWorld;
+import game.levelLoader.Level;
+import game.simulation.HeadlessRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@code createWorld()} takes to build each of the game's levels.
+ * The level files are read once before measuring, as {@link LevelReadBenchmark} times reading them.
+ * Sprites are cached after the first load, so this is the cost of a level change once the game is running.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dgame.noAudio=true"})
+public class WorldConstructionBenchmark {
+    /**
+     * The level to build, starting at 1.
+     */
+    @Param({"1", "2", "3"})
+    public int level;
+
+    /**
+     * The level whose world is built, read from its file once.
+     */
+    private Level source;
+
+    /**
+     * Reads the level's file.
+     */
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void loadLevel() {
+        source = HeadlessRunner.createLevels().get(level - 1);
+    }
+
+    /**
+     * Builds the level's world.
+     *
+     * @return The new world, so it counts as used.
+     */
+    @Benchmark
+    public GameWorld createWorld() {
+        return source.createWorld();
+    }
+}
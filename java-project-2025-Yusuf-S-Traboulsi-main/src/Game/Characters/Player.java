@@ -4,10 +4,23 @@ import city.cs.engine.*;
 import game.characters.enemies.Enemy;
 import game.platforms.Trampoline;
 import game.collectibles.Coin;
+import game.rendering.Renderable;
+import game.rendering.Animation;
+import game.rendering.Animator;
+import game.rendering.Sprite;
+import game.replay.Restorable;
 import org.jbox2d.common.Vec2;
 import game.main.Game;
+import game.levelLoader.GameWorld;
+import game.levelLoader.Updatable;
+import game.metrics.Metrics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-import java.util.Objects;
 
 /**
  * Represents the player character in the game.
@@ -15,7 +28,7 @@ import java.util.Objects;
  * Tracks health, coins collected, and other player states.
  */
 
-public class Player extends Walker implements StepListener, CollisionListener {
+public class Player extends Walker implements Updatable, CollisionListener, Renderable, Restorable {
     /**
      * The shape of the player.
      */
@@ -49,39 +62,23 @@ public class Player extends Walker implements StepListener, CollisionListener {
      */
     private static final float TRAMPOLINE_JUMP_SPEED = 30;
     /**
-     * Tracks Ground detection.
-     */
-    // Ground Sensor
-    private final Sensor groundSensor; // Tracks proper ground detection
-    /**
-     * The images for the player in different states.
-     */
-    BodyImage[] idleImages = new BodyImage[1];
-    /**
-     * The images for the player when jumping to the right.
-     */
-    BodyImage[] jumpRightImages = new BodyImage[1];
-
-
-    // Movement State Tracking
-    /**
-     * The images for the player when jumping to the left.
+     * How long each frame of the walk cycle is shown, in seconds.
      */
-    BodyImage[] jumpLeftImages = new BodyImage[1];
+    private static final float WALK_FRAME_SECONDS = 1 / 30f;
     /**
-     * The images for the player when walking to the right.
+     * The number of frames in each walk cycle.
      */
-    BodyImage[] walkRightImages = new BodyImage[11];
-
-    // Images
+    private static final int WALK_FRAMES = 11;
     /**
-     * The images for the player when walking to the left.
+     * Tracks Ground detection.
      */
-    BodyImage[] walkLeftImages = new BodyImage[11];
+    // Ground Sensor
+    private final Sensor groundSensor; // Tracks proper ground detection
     /**
-     * The player sprite.
+     * Plays the player's idle, walk and jump animations.
      */
-    AttachedImage[] playerSprite;
+    private final Animator<PlayerAnimationState> animator =
+            new Animator<>(PlayerAnimationState.class, PlayerAnimationState.IDLE);
     /**
      * The amount of coins collected by the player starting at 0.
      */
@@ -94,6 +91,14 @@ public class Player extends Walker implements StepListener, CollisionListener {
      * The invincibility state of the player.
      */
     private boolean invincible;
+    /**
+     * The number of steps left before timed invincibility wears off, or 0 if none is running.
+     */
+    private int invincibleSteps;
+    /**
+     * The listeners told when health or coins change.
+     */
+    private final List<PlayerStatsListener> statsListeners = new CopyOnWriteArrayList<>();
 
     // States
     /**
@@ -130,22 +135,6 @@ public class Player extends Walker implements StepListener, CollisionListener {
      * Tracks if the player is on the ground.
      */
     private boolean isOnGround = true;
-    /**
-     * Tracks the index of the idle image.
-     */
-    private int idleIndex = 0;
-    /**
-     * Tracks the index of the walking image.
-     */
-    private int walkRightIndex = 0;
-    /**
-     * Tracks the index of the walking image.
-     */
-    private int walkLeftIndex = 0;
-    /**
-     * Tracks the index of the jumping image.
-     */
-    private int jumpingIndex = 0;
     /**
      * Tracks the number of steps taken.
      */
@@ -169,7 +158,7 @@ public class Player extends Walker implements StepListener, CollisionListener {
      * @param world The physics world in which the player exists.
      * @param game  The game instance.
      */
-    public Player(World world, Game game) {
+    public Player(GameWorld world, Game game) {
         super(world, playerShape);
         this.game = game;
 
@@ -178,8 +167,8 @@ public class Player extends Walker implements StepListener, CollisionListener {
 
         this.invincible = false;
 
-        world.addStepListener(this);
-        addCollisionListener(this);
+        world.getEntities().add(this);
+        addCollisionListener(Metrics.timed(this));
 
         // Add Ground Sensor
         groundSensor = new Sensor(this, new BoxShape(0.9f, 0.1f, new Vec2(0, -2f)));
@@ -207,36 +196,37 @@ public class Player extends Walker implements StepListener, CollisionListener {
             }
         });
 
-        addCollisionListener(new CollisionListener() {
+        addCollisionListener(Metrics.timed(new CollisionListener() {
             @Override
             public void collide(CollisionEvent e) {
                 if (e.getOtherBody() instanceof Coin) {
                     collect((Coin) e.getOtherBody());
                 }
             }
-        });
+        }));
 
         setImages();
-        playerSprite = new AttachedImage[]{addImage(idleImages[0])};
 
         // Add collision listener for collectibles
 
     }
 
     /**
-     * Sets the images for the player in different states.
+     * Sets the animations for the player in different states.
      */
     public void setImages() {
-        idleImages[0] = new BodyImage(Objects.requireNonNull(Player.class.getResource("/game/resources/playerOne/idle/p1_front.png")), 4);
-        jumpRightImages[0] = new BodyImage(Objects.requireNonNull(Player.class.getResource("/game/resources/playerOne/jump/right/p1_jump.png")), 4);
-        jumpLeftImages[0] = new BodyImage(Objects.requireNonNull(Player.class.getResource("/game/resources/playerOne/jump/left/p1_jump.png")), 4);
-        for (int i = 0; i < walkRightImages.length; i++) {
-            walkRightImages[i] = new BodyImage(Objects.requireNonNull(Player.class.getResource("/game/resources/playerOne/walking/right/p1_walk" + String.format("%02d", i + 1) + ".png")), 4);
+        Sprite[] walkRightImages = new Sprite[WALK_FRAMES];
+        Sprite[] walkLeftImages = new Sprite[WALK_FRAMES];
+        for (int i = 0; i < WALK_FRAMES; i++) {
+            walkRightImages[i] = Sprite.load("/game/resources/playerOne/walking/right/p1_walk" + String.format("%02d", i + 1) + ".png", 4);
+            walkLeftImages[i] = Sprite.load("/game/resources/playerOne/walking/left/p1_walk_left" + String.format("%02d", i + 1) + ".png", 4);
         }
 
-        for (int i = 0; i < walkLeftImages.length; i++) {
-            walkLeftImages[i] = new BodyImage(Objects.requireNonNull(Player.class.getResource("/game/resources/playerOne/walking/left/p1_walk_left" + String.format("%02d", i + 1) + ".png")), 4);
-        }
+        animator.define(PlayerAnimationState.IDLE, Animation.still(Sprite.load("/game/resources/playerOne/idle/p1_front.png", 4)))
+                .define(PlayerAnimationState.JUMP_RIGHT, Animation.still(Sprite.load("/game/resources/playerOne/jump/right/p1_jump.png", 4)))
+                .define(PlayerAnimationState.JUMP_LEFT, Animation.still(Sprite.load("/game/resources/playerOne/jump/left/p1_jump.png", 4)))
+                .define(PlayerAnimationState.WALK_RIGHT, new Animation(WALK_FRAME_SECONDS, walkRightImages))
+                .define(PlayerAnimationState.WALK_LEFT, new Animation(WALK_FRAME_SECONDS, walkLeftImages));
     }
 
 
@@ -290,12 +280,12 @@ public class Player extends Walker implements StepListener, CollisionListener {
     }
 
     /**
-     * Returns the current position of the player.
+     * Bounces the player off a trampoline they landed on, even if they hit its side.
      *
-     * @return The current position of the player.
+     * @param stepEvent The step event triggered by the physics engine.
      */
     @Override
-    public void preStep(StepEvent stepEvent) {
+    public void update(StepEvent stepEvent) {
         // Ensure trampoline jump is recognized even if the player hits the side
         if (onTrampoline && Math.abs(getLinearVelocity().y) < 0.01f) {
             setLinearVelocity(new Vec2(getLinearVelocity().x, TRAMPOLINE_JUMP_SPEED));
@@ -309,7 +299,13 @@ public class Player extends Walker implements StepListener, CollisionListener {
      * @param stepEvent The step event triggered by the physics engine.
      */
     @Override
-    public void postStep(StepEvent stepEvent) {
+    public void afterStep(StepEvent stepEvent) {
+        // Timed invincibility counts physics steps, so it lasts the same in replays and headless runs
+        if (invincibleSteps > 0 && --invincibleSteps == 0) {
+            invincible = false;
+        }
+        animator.advance(stepEvent.getStep()); // Frames follow game time, whatever the step rate
+
         stepCounter++;
         if (stepCounter < STEP_INTERVAL) {
             return;
@@ -344,18 +340,25 @@ public class Player extends Walker implements StepListener, CollisionListener {
         }
 
         // Animation Handling
-        removeAllImages();
-
         if (isJumping) {
-            playerSprite[0] = addImage(isFacingRight ? jumpRightImages[0] : jumpLeftImages[0]);
+            animator.play(isFacingRight ? PlayerAnimationState.JUMP_RIGHT : PlayerAnimationState.JUMP_LEFT);
         } else if (isWalking) {
-            walkRightIndex = (walkRightIndex + 1) % walkRightImages.length;
-            playerSprite[0] = addImage(isFacingRight ? walkRightImages[walkRightIndex] : walkLeftImages[walkRightIndex]);
+            animator.play(isFacingRight ? PlayerAnimationState.WALK_RIGHT : PlayerAnimationState.WALK_LEFT);
         } else {
-            playerSprite[0] = addImage(idleImages[idleIndex]);
+            animator.play(PlayerAnimationState.IDLE);
         }
     }
 
+    /**
+     * Gets the sprite for the player's current animation frame.
+     *
+     * @return The current sprite.
+     */
+    @Override
+    public Sprite getSprite() {
+        return animator.getSprite();
+    }
+
     /**
      * Handles collision events with other game objects.
      *
@@ -437,6 +440,7 @@ public class Player extends Walker implements StepListener, CollisionListener {
     public void takeDamage(int damage) {
         if (!isInvincible()) { // Check if the player is not invincible
             health = Math.max(0, health - damage); // Reduce health safely
+            statsChanged();
         }
     }
 
@@ -446,6 +450,7 @@ public class Player extends Walker implements StepListener, CollisionListener {
 
     public void heal(int amount) {
         health = Math.min(MAX_HEALTH, health + amount); // Prevent overhealing
+        statsChanged();
     }
 
     /**
@@ -463,6 +468,7 @@ public class Player extends Walker implements StepListener, CollisionListener {
 
     public void setHealth(int health) {
         this.health = Math.min(health, 6); // Cap health at 6
+        statsChanged();
     }
 
     /**
@@ -479,6 +485,7 @@ public class Player extends Walker implements StepListener, CollisionListener {
      */
     private void collect(Coin collectible) {
         coinsCollected++;
+        statsChanged();
         collectible.destroy();
     }
 
@@ -488,6 +495,7 @@ public class Player extends Walker implements StepListener, CollisionListener {
     public void resetPlayer() {
         coinsCollected = 0;
         health = 6; // Reset health to max
+        statsChanged();
         setPosition(new Vec2(-8, -8)); // Reset position
     }
     // setter for restoring health between levels
@@ -508,6 +516,7 @@ public class Player extends Walker implements StepListener, CollisionListener {
     // setter for restoring score between levels
     public void setScore(int score) {
         this.coinsCollected = score / 10;  // or adjust if your getScore() logic differs
+        statsChanged();
     }
 
     /**
@@ -517,6 +526,7 @@ public class Player extends Walker implements StepListener, CollisionListener {
      */
     public void decreaseHealth(int amount) {
         health -= amount; // Assuming 'health' is a field in the Player class
+        statsChanged();
         if (health <= 0) {
             // Handle player death
         }
@@ -538,6 +548,94 @@ public class Player extends Walker implements StepListener, CollisionListener {
         this.invincible = invincible;
     }
 
+    /**
+     * Makes the player invincible for a number of physics steps.
+     *
+     * @param steps The number of steps the invincibility lasts.
+     */
+    public void grantInvincibility(int steps) {
+        invincible = true;
+        invincibleSteps = steps;
+    }
+
+    /**
+     * Writes the player's health, score, and movement and animation state.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the state cannot be written.
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(health);
+        out.writeInt(coinsCollected);
+        out.writeBoolean(invincible);
+        out.writeInt(invincibleSteps);
+        out.writeBoolean(isMovingLeft);
+        out.writeBoolean(isMovingRight);
+        out.writeBoolean(isIdle);
+        out.writeBoolean(isWalking);
+        out.writeBoolean(isFacingRight);
+        out.writeBoolean(isJumping);
+        out.writeBoolean(isOnGround);
+        out.writeBoolean(onTrampoline);
+        animator.writeState(out);
+        out.writeInt(stepCounter);
+        out.writeInt(touchCount);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If the state cannot be read.
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        health = in.readInt();
+        coinsCollected = in.readInt();
+        invincible = in.readBoolean();
+        invincibleSteps = in.readInt();
+        isMovingLeft = in.readBoolean();
+        isMovingRight = in.readBoolean();
+        isIdle = in.readBoolean();
+        isWalking = in.readBoolean();
+        isFacingRight = in.readBoolean();
+        isJumping = in.readBoolean();
+        isOnGround = in.readBoolean();
+        onTrampoline = in.readBoolean();
+        animator.readState(in);
+        stepCounter = in.readInt();
+        touchCount = in.readInt();
+        statsChanged();
+    }
+
+    /**
+     * Adds a listener to be told when the player's health or coins change.
+     *
+     * @param listener The listener to add.
+     */
+    public void addStatsListener(PlayerStatsListener listener) {
+        statsListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addStatsListener(PlayerStatsListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeStatsListener(PlayerStatsListener listener) {
+        statsListeners.remove(listener);
+    }
+
+    /**
+     * Tells every stats listener that health or coins have changed.
+     */
+    private void statsChanged() {
+        for (PlayerStatsListener listener : statsListeners) {
+            listener.statsChanged(this);
+        }
+    }
+
     /**
      * Destroys the player if not invincible.
      */
@@ -0,0 +1,27 @@
+package game.characters;
+
+/**
+ * The animations the player can be shown in.
+ */
+public enum PlayerAnimationState {
+    /**
+     * Standing still, facing the camera.
+     */
+    IDLE,
+    /**
+     * Walking to the left.
+     */
+    WALK_LEFT,
+    /**
+     * Walking to the right.
+     */
+    WALK_RIGHT,
+    /**
+     * In the air, facing left.
+     */
+    JUMP_LEFT,
+    /**
+     * In the air, facing right.
+     */
+    JUMP_RIGHT
+}
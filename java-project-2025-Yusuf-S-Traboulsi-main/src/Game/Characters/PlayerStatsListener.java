@@ -0,0 +1,15 @@
+package game.characters;
+
+/**
+ * Listens for changes to the player's health or coin count.
+ * Called on whichever thread changed the player, which during play is the simulation thread.
+ */
+@FunctionalInterface
+public interface PlayerStatsListener {
+    /**
+     * Called after the player's health or coin count has changed.
+     *
+     * @param player The player whose stats changed.
+     */
+    void statsChanged(Player player);
+}
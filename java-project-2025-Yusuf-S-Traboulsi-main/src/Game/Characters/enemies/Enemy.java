@@ -3,14 +3,24 @@ package game.characters.enemies;
 import city.cs.engine.*;
 import game.characters.Player;
 import game.main.Game;
+import game.levelLoader.GameWorld;
+import game.metrics.Metrics;
+import game.rendering.Renderable;
+import game.rendering.Sprite;
+import game.replay.Restorable;
 import org.jbox2d.common.Vec2;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Represents a generic enemy in the game.
  * The enemy can patrol and follow the player within a certain range.
+ * Its movement is decided together with every other enemy's by the world's {@link EnemyCore}.
  */
 
-public class Enemy extends Walker implements StepListener, CollisionListener {
+public class Enemy extends Walker implements CollisionListener, Renderable, Restorable {
     /**
      * The specific shape of the enemy.
      */
@@ -22,7 +32,7 @@ public class Enemy extends Walker implements StepListener, CollisionListener {
     /**
      * The detection range within which the enemy can see the player.
      */
-    private static final float DETECTION_RANGE = 5f;
+    public static final float DETECTION_RANGE = 5f;
     /**
      * The patrol range within which the enemy can move back and forth.
      */
@@ -30,19 +40,15 @@ public class Enemy extends Walker implements StepListener, CollisionListener {
     /**
      * The images used for walking right.
      */
-    public BodyImage[] walkRightImages = new BodyImage[2];
+    public Sprite[] walkRightImages = new Sprite[2];
     /**
      * The images used for walking left.
      */
-    public BodyImage[] walkLeftImages = new BodyImage[2];
+    public Sprite[] walkLeftImages = new Sprite[2];
     /**
      * The images used for idle state.
      */
-    public BodyImage idleImage;
-    /**
-     * The enemy starts moving to the right.
-     */
-    private boolean movingRight = true;
+    public Sprite idleImage;
 
     // Animation
     /**
@@ -50,21 +56,25 @@ public class Enemy extends Walker implements StepListener, CollisionListener {
      */
     private Player player;
     /**
-     * The initial x-coordinate of the enemy.
+     * The main game instance, or {@code null} when the level is simulated headless.
      */
-    private float startX;
+    private Game game;
     /**
-     * The main game instance.
+     * The sprite for the enemy's current frame.
      */
-    private Game game;
+    private volatile Sprite sprite;
+    /**
+     * The core that decides the enemy's movement.
+     */
+    private final EnemyCore core;
     /**
-     * The index used for walking animation.
+     * The enemy's slot in the core; updated by the core when it compacts its arrays.
      */
-    private int walkIndex = 0;
+    int coreIndex;
 
     /**
      * Constructs an Enemy in the specified world.
-     * Sets up the enemy's position, collision listener, and step listener.
+     * Sets up the enemy's position and collision listener, and adds it to the world's enemy core.
      *
      * @param world  The physics world in which the enemy exists.
      * @param x      The starting x-coordinate of the enemy's position.
@@ -72,19 +82,19 @@ public class Enemy extends Walker implements StepListener, CollisionListener {
      * @param player The player character in the game.
      * @param game   The main game instance.
      */
-    public Enemy(World world, float x, float y, Player player, Game game) {
+    public Enemy(GameWorld world, float x, float y, Player player, Game game) {
         super(world, enemyShape);
         this.player = player;
-        this.startX = x;
         this.game = game;
         setPosition(new Vec2(x, y));
 
-        world.addStepListener(this);
-        addCollisionListener(this);
+        core = world.getEntities().getEnemyCore();
+        core.add(this, x - PATROL_RANGE, x + PATROL_RANGE, SPEED, DETECTION_RANGE);
+        addCollisionListener(Metrics.timed(this));
 
         // Load Images
         setImages();
-        addImage(idleImage);
+        sprite = idleImage;
     }
 
     /**
@@ -96,78 +106,64 @@ public class Enemy extends Walker implements StepListener, CollisionListener {
     }
 
     /**
-     * Updates the enemy's behavior before each physics step.
-     * Prevents the enemy from falling and determines whether to patrol or follow the player.
+     * Makes the enemy fly between two x-coordinates at a fixed height instead of patrolling the ground.
      *
-     * @param e The step event triggered by the physics engine.
-     */
-    @Override
-    public void preStep(StepEvent e) {
-        setLinearVelocity(new Vec2(getLinearVelocity().x, -1)); // Prevent enemy from falling
-
-        float distanceToPlayer = Math.abs(getPosition().x - player.getPosition().x);
+     * @param leftLimit      The left limit of its flight.
+     * @param rightLimit     The right limit of its flight.
+     * @param y              The height it is held at.
+     * @param speed          How fast it flies.
+     * @param detectionRange How close the player must be for it to give chase.
+     */
+    protected void setFlightPath(float leftLimit, float rightLimit, float y, float speed, float detectionRange) {
+        core.setFlying(coreIndex, leftLimit, rightLimit, y, speed, detectionRange);
+    }
 
-        if (distanceToPlayer < DETECTION_RANGE) {
-            followPlayer();
+    /**
+     * Shows a frame of the enemy's walking animation, as chosen by the world's {@link EnemyCore}.
+     *
+     * @param frame     The frame of the shared animation clock; wraps around the enemy's walk cycle.
+     * @param direction -1 if the enemy is walking left, 1 if walking right, or 0 if it is stationary.
+     */
+    void showFrame(int frame, int direction) {
+        if (direction > 0) {
+            sprite = walkRightImages[frame % walkRightImages.length];
+        } else if (direction < 0) {
+            sprite = walkLeftImages[frame % walkLeftImages.length];
         } else {
-            patrol();
+            sprite = idleImage; // If stationary, show idle image
         }
     }
 
     /**
-     * Updates the enemy's animation after each physics step.
-     * Changes the enemy's image based on its movement direction or idle state.
+     * Gets the sprite for the enemy's current animation frame.
      *
-     * @param e The step event triggered by the physics engine.
+     * @return The current sprite.
      */
     @Override
-    public void postStep(StepEvent e) {
-        // Handle animation updates
-        walkIndex = (walkIndex + 1) % walkRightImages.length;
-        removeAllImages();
-
-        if (getLinearVelocity().x > 0) {
-            addImage(walkRightImages[walkIndex]);
-        } else if (getLinearVelocity().x < 0) {
-            addImage(walkLeftImages[walkIndex]);
-        } else {
-            addImage(idleImage); // If stationary, show idle image
-        }
+    public Sprite getSprite() {
+        return sprite;
     }
 
     /**
-     * Makes the enemy follow the player if the player is within detection range.
-     * Adjusts the enemy's walking direction based on the player's position.
+     * Writes the enemy's movement state and the shared animation clock.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the state cannot be written.
      */
-    private void followPlayer() {
-        float playerX = player.getPosition().x;
-        float enemyX = getPosition().x;
-
-        if (playerX > enemyX) {
-            startWalking(SPEED);
-        } else {
-            startWalking(-SPEED);
-        }
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        core.writeState(coreIndex, out);
     }
 
     /**
-     * Makes the enemy patrol within a predefined range.
-     * Changes the walking direction when the enemy reaches the patrol boundaries.
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If the state cannot be read.
      */
-    private void patrol() {
-        float currentX = getPosition().x;
-
-        if (movingRight) {
-            startWalking(SPEED);
-            if (currentX > startX + PATROL_RANGE) {
-                movingRight = false;
-            }
-        } else {
-            startWalking(-SPEED);
-            if (currentX < startX - PATROL_RANGE) {
-                movingRight = true;
-            }
-        }
+    @Override
+    public void readState(DataInput in) throws IOException {
+        core.readState(coreIndex, in);
     }
 
     /**
@@ -182,7 +178,9 @@ public class Enemy extends Walker implements StepListener, CollisionListener {
             player.takeDamage(1);
 
             if (player.hasLost()) {
-                game.freezeGame();
+                if (game != null) {
+                    game.freezeGame();
+                }
             } else {
                 Vec2 pushDirection = player.getPosition().sub(getPosition());
                 if (pushDirection.length() > 0) {
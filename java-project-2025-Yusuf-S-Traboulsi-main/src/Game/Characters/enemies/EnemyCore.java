@@ -0,0 +1,529 @@
+package game.characters.enemies;
+
+import org.jbox2d.common.Vec2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Runs the AI of every enemy in a world as one loop over primitive arrays.
+ * Each step the enemies' x-coordinates are gathered from their bodies, a single pass decides every
+ * enemy's walking velocity from the player's position and its patrol bounds, and the velocities are
+ * written straight back to the bodies. Enemies never use CityEngine's walker legs, so no per-enemy
+ * step listener or temporary vectors are involved in the decision.
+ * <p>
+ * How often an enemy is updated depends on how far it is from the player, whom the camera follows.
+ * Enemies within a detection range of the view, however wide the window makes it, are updated every step,
+ * so anything the player can see behaves exactly as before. Enemies further out are updated every few steps,
+ * and enemies beyond that are put to sleep: their bodies are frozen in place and nothing is done for them until
+ * the player comes back in range. A large level therefore costs about as much as the part around the view.
+ * <p>
+ * Walking animations run off one clock shared by every enemy, at a rate set independently of the physics.
+ * On each step the frame to show is worked out once for the whole world, and only enemies inside the view
+ * have their sprite changed, so enemies off screen cost nothing to animate.
+ */
+public class EnemyCore {
+    /**
+     * The number of enemies the arrays start with room for.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Half the width of the view in world units until the view says otherwise: 800 pixels at CityEngine's
+     * default 20 pixels per unit. Headless runs keep it.
+     */
+    public static final float DEFAULT_VIEW_HALF_WIDTH = 20f;
+    /**
+     * How many of an enemy's detection ranges the infrequently updated band reaches beyond the view's.
+     */
+    private static final int MID_TIER_RANGES = 3;
+    /**
+     * How many steps apart enemies in the infrequently updated band are updated.
+     */
+    private static final int MID_TIER_INTERVAL = 4;
+    /**
+     * How far inside the sleep distance a sleeping enemy must come before it wakes, so an enemy on
+     * the boundary is not put to sleep and woken on alternate steps.
+     */
+    private static final float WAKE_MARGIN = 1f;
+    /**
+     * How far beyond the edge of the view an enemy is still animated, so it is on its current frame as it walks in.
+     */
+    private static final float ANIMATION_MARGIN = 1f;
+    /**
+     * The default number of walking frames shown per second, overridden with the
+     * {@code game.enemyAnimationRate} system property.
+     */
+    private static final int DEFAULT_ANIMATION_RATE = 8;
+
+    /**
+     * The enemies, by slot.
+     */
+    private Enemy[] enemies = new Enemy[INITIAL_CAPACITY];
+    /**
+     * The x-coordinate of each enemy, gathered at the start of the step; a sleeping enemy's is where it was frozen.
+     */
+    private float[] x = new float[INITIAL_CAPACITY];
+    /**
+     * The left end of each enemy's patrol.
+     */
+    private float[] minX = new float[INITIAL_CAPACITY];
+    /**
+     * The right end of each enemy's patrol.
+     */
+    private float[] maxX = new float[INITIAL_CAPACITY];
+    /**
+     * How fast each enemy walks or flies.
+     */
+    private float[] speed = new float[INITIAL_CAPACITY];
+    /**
+     * How close the player must be for each enemy to give chase.
+     */
+    private float[] detectionRange = new float[INITIAL_CAPACITY];
+    /**
+     * The vertical velocity written with each enemy's walking velocity.
+     */
+    private float[] vy = new float[INITIAL_CAPACITY];
+    /**
+     * The height each flying enemy is held at.
+     */
+    private float[] holdY = new float[INITIAL_CAPACITY];
+    /**
+     * The horizontal velocity each enemy walks at; kept between steps.
+     */
+    private float[] vx = new float[INITIAL_CAPACITY];
+    /**
+     * Whether each enemy flies; flying enemies keep their height and only turn at their bounds.
+     */
+    private boolean[] flying = new boolean[INITIAL_CAPACITY];
+    /**
+     * Whether each ground enemy is patrolling to the right.
+     */
+    private boolean[] patrolRight = new boolean[INITIAL_CAPACITY];
+    /**
+     * Whether each enemy has been given a walking velocity.
+     */
+    private boolean[] started = new boolean[INITIAL_CAPACITY];
+    /**
+     * Whether each enemy's walking velocity is being applied. Like CityEngine's walker legs, it only
+     * takes hold on the step after the enemy first starts walking; until then the body keeps its own velocity.
+     */
+    private boolean[] walking = new boolean[INITIAL_CAPACITY];
+    /**
+     * The steps left until each infrequently updated enemy is next updated.
+     */
+    private int[] tickCountdown = new int[INITIAL_CAPACITY];
+    /**
+     * Whether each enemy is updated this step.
+     */
+    private boolean[] ticking = new boolean[INITIAL_CAPACITY];
+    /**
+     * Whether each enemy is asleep.
+     */
+    private boolean[] asleep = new boolean[INITIAL_CAPACITY];
+    /**
+     * The gravity scale each sleeping enemy is given back when it wakes.
+     */
+    private float[] wakeGravityScale = new float[INITIAL_CAPACITY];
+    /**
+     * Whether each enemy is still in the world.
+     */
+    private boolean[] alive = new boolean[INITIAL_CAPACITY];
+    /**
+     * The animation clock frame each enemy's sprite was last chosen for, or -1 to choose it on the next step.
+     */
+    private int[] shownFrame = new int[INITIAL_CAPACITY];
+    /**
+     * The direction each enemy's sprite was last chosen for: -1 walking left, 1 walking right and 0 idle.
+     */
+    private byte[] shownDirection = new byte[INITIAL_CAPACITY];
+    /**
+     * The number of occupied slots.
+     */
+    private int count;
+    /**
+     * The number of enemies destroyed since the arrays were last compacted.
+     */
+    private int destroyedCount;
+    /**
+     * Reused to pass velocities and positions to the bodies, which copy them.
+     */
+    private final Vec2 scratch = new Vec2();
+    /**
+     * The x-coordinate the view is centred on, which is the player's, as of the last update.
+     */
+    private float viewX;
+    /**
+     * Half the width of the view in world units, as last set by the view.
+     */
+    private float viewHalfWidth = DEFAULT_VIEW_HALF_WIDTH;
+    /**
+     * The game time the animation clock has run for, in seconds.
+     */
+    private float animationTime;
+    /**
+     * The number of walking frames shown per second.
+     */
+    private float animationRate = Integer.getInteger("game.enemyAnimationRate", DEFAULT_ANIMATION_RATE);
+
+    /**
+     * Adds a ground enemy that patrols between two x-coordinates and chases the player when close.
+     *
+     * @param enemy          The enemy.
+     * @param minX           The left end of its patrol.
+     * @param maxX           The right end of its patrol.
+     * @param speed          How fast it walks.
+     * @param detectionRange How close the player must be for it to give chase.
+     */
+    void add(Enemy enemy, float minX, float maxX, float speed, float detectionRange) {
+        if (count == enemies.length) {
+            grow();
+        }
+        int i = count++;
+        enemies[i] = enemy;
+        this.minX[i] = minX;
+        this.maxX[i] = maxX;
+        this.speed[i] = speed;
+        this.detectionRange[i] = detectionRange;
+        vy[i] = -1; // Keeps ground enemies pressed down instead of falling off ledges
+        vx[i] = 0;
+        flying[i] = false;
+        patrolRight[i] = true;
+        started[i] = false;
+        walking[i] = false;
+        tickCountdown[i] = i % MID_TIER_INTERVAL + 1; // Staggered so the band is not all updated on the same step
+        asleep[i] = false;
+        alive[i] = true;
+        shownFrame[i] = -1;
+        shownDirection[i] = 0;
+        enemy.coreIndex = i;
+
+        enemy.addDestructionListener(e -> {
+            alive[enemy.coreIndex] = false;
+            destroyedCount++;
+        });
+    }
+
+    /**
+     * Turns an enemy into a flyer that holds its height and turns only at its bounds.
+     *
+     * @param i              The enemy's slot.
+     * @param minX           The left limit of its flight.
+     * @param maxX           The right limit of its flight.
+     * @param y              The height it is held at.
+     * @param speed          How fast it flies.
+     * @param detectionRange How close the player must be for it to give chase.
+     */
+    void setFlying(int i, float minX, float maxX, float y, float speed, float detectionRange) {
+        flying[i] = true;
+        this.minX[i] = minX;
+        this.maxX[i] = maxX;
+        holdY[i] = y;
+        this.speed[i] = speed;
+        this.detectionRange[i] = detectionRange;
+        vy[i] = 0;
+    }
+
+    /**
+     * Gets the number of enemies being updated.
+     *
+     * @return The enemy count.
+     */
+    public int size() {
+        return count - destroyedCount;
+    }
+
+    /**
+     * Decides the velocity of every enemy due an update this step and applies it.
+     *
+     * @param playerX The player's x-coordinate.
+     */
+    public void update(float playerX) {
+        compact();
+        viewX = playerX;
+
+        for (int i = 0; i < count; i++) {
+            if (!asleep[i]) {
+                x[i] = enemies[i].getPosition().x; // A sleeping enemy stays where it was frozen
+            }
+        }
+
+        schedule(playerX);
+
+        for (int i = 0; i < count; i++) {
+            if (!ticking[i]) {
+                continue;
+            }
+            float dx = playerX - x[i];
+            if (Math.abs(dx) < detectionRange[i]) {
+                vx[i] = dx > 0 ? speed[i] : -speed[i]; // Chase the player
+                started[i] = true;
+            } else if (flying[i]) {
+                // Flyers keep going until they pass a limit
+                if (x[i] > maxX[i]) {
+                    vx[i] = -speed[i];
+                    started[i] = true;
+                } else if (x[i] < minX[i]) {
+                    vx[i] = speed[i];
+                    started[i] = true;
+                }
+            } else {
+                // Ground enemies turn around on the step after passing the end of their patrol
+                vx[i] = patrolRight[i] ? speed[i] : -speed[i];
+                patrolRight[i] = patrolRight[i] ? x[i] <= maxX[i] : x[i] < minX[i];
+                started[i] = true;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (!ticking[i]) {
+                continue;
+            }
+            Enemy enemy = enemies[i];
+            if (flying[i]) {
+                enemy.setPosition(scratch.set(x[i], holdY[i]));
+            }
+            float walkingVx = walking[i] ? vx[i] : enemy.getLinearVelocity().x;
+            enemy.setLinearVelocity(scratch.set(walkingVx, vy[i]));
+            walking[i] = started[i];
+        }
+    }
+
+    /**
+     * Works out which enemies are updated this step from their distance to the player,
+     * putting enemies to sleep and waking them as they cross the sleep distance.
+     *
+     * @param playerX The player's x-coordinate.
+     */
+    private void schedule(float playerX) {
+        for (int i = 0; i < count; i++) {
+            float distance = Math.abs(playerX - x[i]);
+            float everyStepDistance = viewHalfWidth + detectionRange[i];
+            float sleepDistance = everyStepDistance + MID_TIER_RANGES * detectionRange[i];
+
+            if (asleep[i]) {
+                if (distance >= sleepDistance - WAKE_MARGIN) {
+                    ticking[i] = false;
+                    continue;
+                }
+                wake(i);
+            } else if (distance > sleepDistance) {
+                sleep(i);
+                ticking[i] = false;
+                continue;
+            }
+
+            if (distance < everyStepDistance) {
+                tickCountdown[i] = 1;
+            }
+            ticking[i] = --tickCountdown[i] <= 0;
+            if (ticking[i]) {
+                tickCountdown[i] = MID_TIER_INTERVAL;
+            }
+        }
+    }
+
+    /**
+     * Freezes an enemy's body where it is: it stops moving and gravity no longer acts on it,
+     * so the physics engine soon lets the body rest.
+     *
+     * @param i The enemy's slot.
+     */
+    private void sleep(int i) {
+        Enemy enemy = enemies[i];
+        asleep[i] = true;
+        wakeGravityScale[i] = enemy.getGravityScale();
+        enemy.setGravityScale(0);
+        enemy.setLinearVelocity(scratch.set(0, 0));
+    }
+
+    /**
+     * Unfreezes a sleeping enemy and has it updated straight away.
+     *
+     * @param i The enemy's slot.
+     */
+    private void wake(int i) {
+        asleep[i] = false;
+        enemies[i].setGravityScale(wakeGravityScale[i]);
+        tickCountdown[i] = 1;
+    }
+
+    /**
+     * Advances the shared animation clock and changes the sprite of every enemy in view whose frame
+     * or walking direction has changed.
+     *
+     * @param seconds The game time that has passed, in seconds.
+     */
+    public void animate(float seconds) {
+        compact();
+        animationTime += seconds;
+        int frame = (int) (animationTime * animationRate); // The same for every enemy this step
+
+        float left = viewX - viewHalfWidth - ANIMATION_MARGIN;
+        float right = viewX + viewHalfWidth + ANIMATION_MARGIN;
+        for (int i = 0; i < count; i++) {
+            if (asleep[i] || x[i] < left || x[i] > right) {
+                continue; // Off screen; its sprite is brought up to date when it comes into view
+            }
+            byte direction = (byte) (walking[i] ? Math.signum(vx[i]) : 0);
+            if (direction != shownDirection[i] || (direction != 0 && frame != shownFrame[i])) {
+                enemies[i].showFrame(frame, direction);
+                shownFrame[i] = frame;
+                shownDirection[i] = direction;
+            }
+        }
+    }
+
+    /**
+     * Sets how fast enemies' walking animations run.
+     *
+     * @param framesPerSecond The number of walking frames shown per second of game time.
+     */
+    public void setAnimationRate(float framesPerSecond) {
+        animationRate = framesPerSecond;
+    }
+
+    /**
+     * Sets how much of the world the view shows either side of the player, which decides which enemies
+     * are updated every step and which are animated. Must be called on the thread that steps the world.
+     *
+     * @param halfWidth Half the width of the view in world units.
+     */
+    public void setViewHalfWidth(float halfWidth) {
+        viewHalfWidth = halfWidth;
+    }
+
+    /**
+     * Gets how much of the world the view shows either side of the player.
+     *
+     * @return Half the width of the view in world units.
+     */
+    public float getViewHalfWidth() {
+        return viewHalfWidth;
+    }
+
+    /**
+     * Gets the number of enemies that are asleep.
+     *
+     * @return The sleeping enemy count.
+     */
+    public int sleepingCount() {
+        int sleeping = 0;
+        for (int i = 0; i < count; i++) {
+            if (asleep[i]) {
+                sleeping++;
+            }
+        }
+        return sleeping;
+    }
+
+    /**
+     * Writes an enemy's patrol, walking and scheduling state.
+     *
+     * @param i   The enemy's slot.
+     * @param out The stream to write to.
+     * @throws IOException If the state cannot be written.
+     */
+    void writeState(int i, DataOutput out) throws IOException {
+        out.writeBoolean(patrolRight[i]);
+        out.writeFloat(vx[i]);
+        out.writeBoolean(started[i]);
+        out.writeBoolean(walking[i]);
+        out.writeInt(tickCountdown[i]);
+        out.writeBoolean(asleep[i]);
+        out.writeFloat(wakeGravityScale[i]);
+        out.writeFloat(x[i]);
+        out.writeFloat(animationTime); // Shared by every enemy; written with each so any one restores it
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(int, DataOutput)}.
+     *
+     * @param i  The enemy's slot.
+     * @param in The stream to read from.
+     * @throws IOException If the state cannot be read.
+     */
+    void readState(int i, DataInput in) throws IOException {
+        patrolRight[i] = in.readBoolean();
+        vx[i] = in.readFloat();
+        started[i] = in.readBoolean();
+        walking[i] = in.readBoolean();
+        tickCountdown[i] = in.readInt();
+        asleep[i] = in.readBoolean();
+        wakeGravityScale[i] = in.readFloat();
+        x[i] = in.readFloat();
+        animationTime = in.readFloat();
+        shownFrame[i] = -1;
+        shownDirection[i] = 0;
+        enemies[i].showFrame(0, 0); // Chosen again on the next step if the enemy is in view
+    }
+
+    /**
+     * Drops destroyed enemies, shifting the survivors down so their order is kept.
+     */
+    private void compact() {
+        if (destroyedCount == 0) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (!alive[i]) {
+                continue;
+            }
+            if (kept != i) {
+                enemies[kept] = enemies[i];
+                minX[kept] = minX[i];
+                maxX[kept] = maxX[i];
+                speed[kept] = speed[i];
+                detectionRange[kept] = detectionRange[i];
+                vy[kept] = vy[i];
+                holdY[kept] = holdY[i];
+                vx[kept] = vx[i];
+                flying[kept] = flying[i];
+                patrolRight[kept] = patrolRight[i];
+                started[kept] = started[i];
+                walking[kept] = walking[i];
+                tickCountdown[kept] = tickCountdown[i];
+                asleep[kept] = asleep[i];
+                wakeGravityScale[kept] = wakeGravityScale[i];
+                x[kept] = x[i];
+                shownFrame[kept] = shownFrame[i];
+                shownDirection[kept] = shownDirection[i];
+                alive[kept] = true;
+                enemies[kept].coreIndex = kept;
+            }
+            kept++;
+        }
+        Arrays.fill(enemies, kept, count, null);
+        count = kept;
+        destroyedCount = 0;
+    }
+
+    /**
+     * Doubles the capacity of every array.
+     */
+    private void grow() {
+        int capacity = enemies.length * 2;
+        enemies = Arrays.copyOf(enemies, capacity);
+        x = Arrays.copyOf(x, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        detectionRange = Arrays.copyOf(detectionRange, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        holdY = Arrays.copyOf(holdY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        flying = Arrays.copyOf(flying, capacity);
+        patrolRight = Arrays.copyOf(patrolRight, capacity);
+        started = Arrays.copyOf(started, capacity);
+        walking = Arrays.copyOf(walking, capacity);
+        tickCountdown = Arrays.copyOf(tickCountdown, capacity);
+        ticking = Arrays.copyOf(ticking, capacity);
+        asleep = Arrays.copyOf(asleep, capacity);
+        wakeGravityScale = Arrays.copyOf(wakeGravityScale, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        shownFrame = Arrays.copyOf(shownFrame, capacity);
+        shownDirection = Arrays.copyOf(shownDirection, capacity);
+    }
+}
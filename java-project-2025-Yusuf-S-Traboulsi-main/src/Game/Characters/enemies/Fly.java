@@ -3,7 +3,9 @@ package game.characters.enemies;
 import city.cs.engine.*;
 import game.characters.Player;
 import game.main.Game;
-import org.jbox2d.common.Vec2;
+import game.levelLoader.GameWorld;
+import game.rendering.Sprite;
+import game.controls.AudioSettings;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
@@ -12,6 +14,7 @@ import javax.sound.sampled.FloatControl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a fly enemy in the game.
@@ -26,7 +29,7 @@ public class Fly extends Enemy {
     /**
      * The range within which the fly detects the player.
      */
-    private static final float FLY_DETECTION_RANGE = 8;
+    public static final float FLY_DETECTION_RANGE = 8;
     /**
      * The sound effect for the fly enemy.
      */
@@ -37,8 +40,9 @@ public class Fly extends Enemy {
     private static final List<Clip> splatClipPool = new ArrayList<>();
     /**
      * The index of the current clip being played.
+     * Shared by every world running at once, so it is advanced atomically.
      */
-    private static int currentClipIndex = 0;
+    private static final AtomicInteger currentClipIndex = new AtomicInteger();
 
     /**
      * The sound effect for the fly enemy.
@@ -47,15 +51,6 @@ public class Fly extends Enemy {
         preloadSplatSound(); // Preload the sound pool when the class is loaded
     }
 
-    /**
-     * The sound effect for the fly enemy.
-     */
-    private final Player player;
-    /**
-     * The sound effect for the fly enemy.
-     */
-    private float leftLimit, rightLimit, startY;
-
     /**
      * Constructs a fly enemy in the specified world.
      * Sets up the shape, image, and collision listener for the enemy.
@@ -68,12 +63,9 @@ public class Fly extends Enemy {
      * @param player     The player character in the game.
      * @param game       The main game instance.
      */
-    public Fly(World world, float startX, float startY, float leftLimit, float rightLimit, Player player, Game game) {
+    public Fly(GameWorld world, float startX, float startY, float leftLimit, float rightLimit, Player player, Game game) {
         super(world, startX, startY, player, game);
-        this.leftLimit = leftLimit;
-        this.rightLimit = rightLimit;
-        this.startY = startY;
-        this.player = player;
+        setFlightPath(leftLimit, rightLimit, startY, FLY_SPEED, FLY_DETECTION_RANGE);
         setGravityScale(0); // Disable gravity for flying
     }
 
@@ -82,6 +74,9 @@ public class Fly extends Enemy {
      * This is done to avoid delays when playing the sound during gameplay.
      */
     private static void preloadSplatSound() {
+        if (!AudioSettings.isEnabled()) {
+            return; // Headless runs never open audio lines
+        }
         try {
             for (int i = 0; i < CLIP_POOL_SIZE; i++) {
                 AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
@@ -105,62 +100,15 @@ public class Fly extends Enemy {
      */
     @Override
     public void setImages() {
-        idleImage = new BodyImage(Objects.requireNonNull(
-                getClass().getResource("/game/resources/enemies/fly/Fly1.png"), "Idle image not found"), 1.5f);
+        idleImage = Sprite.load("/game/resources/enemies/fly/Fly1.png", 1.5f);
 
         for (int i = 0; i < 2; i++) {
-            walkRightImages[i] = new BodyImage(Objects.requireNonNull(
-                    getClass().getResource("/game/resources/enemies/fly/FlyR" + (i + 1) + ".png"), "Right walk image not found"), 1.5f);
+            walkRightImages[i] = Sprite.load("/game/resources/enemies/fly/FlyR" + (i + 1) + ".png", 1.5f);
         }
 
-        walkLeftImages[0] = new BodyImage(Objects.requireNonNull(
-                getClass().getResource("/game/resources/enemies/fly/Fly1.png"), "Left walk image not found"), 1.5f);
-
-        walkLeftImages[1] = new BodyImage(Objects.requireNonNull(
-                getClass().getResource("/game/resources/enemies/fly/Fly2.png"), "Left walk image not found"), 1.5f);
-    }
-
-    /**
-     * Sets the initial image of the fly enemy.
-     */
-    @Override
-    public void preStep(StepEvent e) {
-        Vec2 currentVel = getLinearVelocity();
-        setLinearVelocity(new Vec2(currentVel.x, 0)); // Keep Y velocity at 0
-        setPosition(new Vec2(getPosition().x, startY)); // Maintain Y position
+        walkLeftImages[0] = Sprite.load("/game/resources/enemies/fly/Fly1.png", 1.5f);
 
-        float distanceToPlayer = Math.abs(getPosition().x - player.getPosition().x);
-
-        if (distanceToPlayer < FLY_DETECTION_RANGE) {
-            followPlayer();
-        } else {
-            patrol();
-        }
-    }
-
-    /**
-     * Sets the enemey on a patrol path.
-     */
-    private void patrol() {
-        if (getPosition().x > rightLimit) {
-            startWalking(-FLY_SPEED);
-        } else if (getPosition().x < leftLimit) {
-            startWalking(FLY_SPEED);
-        }
-    }
-
-    /**
-     * Sets the fly enemy to follow the player.
-     */
-    private void followPlayer() {
-        float playerX = player.getPosition().x;
-        float flyX = getPosition().x;
-
-        if (playerX > flyX) {
-            startWalking(FLY_SPEED);
-        } else {
-            startWalking(-FLY_SPEED);
-        }
+        walkLeftImages[1] = Sprite.load("/game/resources/enemies/fly/Fly2.png", 1.5f);
     }
 
     /**
@@ -178,10 +126,9 @@ public class Fly extends Enemy {
      */
     private void playSplatSound() {
         if (!splatClipPool.isEmpty()) {
-            Clip clip = splatClipPool.get(currentClipIndex);
+            Clip clip = splatClipPool.get(currentClipIndex.getAndUpdate(i -> (i + 1) % CLIP_POOL_SIZE)); // Move to the next clip in the pool
             clip.setFramePosition(0); // Reset the clip to the beginning
             clip.start();
-            currentClipIndex = (currentClipIndex + 1) % CLIP_POOL_SIZE; // Move to the next clip in the pool
         }
     }
 }
\ No newline at end of file
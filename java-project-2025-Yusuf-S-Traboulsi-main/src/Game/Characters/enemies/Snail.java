@@ -1,9 +1,10 @@
 package game.characters.enemies;
 
-import city.cs.engine.BodyImage;
-import city.cs.engine.World;
 import game.characters.Player;
 import game.main.Game;
+import game.levelLoader.GameWorld;
+import game.rendering.Sprite;
+import game.controls.AudioSettings;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
@@ -12,6 +13,7 @@ import javax.sound.sampled.FloatControl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a Snail enemy in the game.
@@ -29,8 +31,9 @@ public class Snail extends Enemy {
     private static final List<Clip> splatClipPool = new ArrayList<>();
     /**
      * The index of the current clip being played.
+     * Worlds stepped in parallel share the pool, so the index is atomic.
      */
-    private static int currentClipIndex = 0;
+    private static final AtomicInteger currentClipIndex = new AtomicInteger();
 
     static {
         preloadSplatSound(); // Preload the sound pool when the class is loaded
@@ -46,7 +49,7 @@ public class Snail extends Enemy {
      * @param player The player character in the game.
      * @param game   The main game instance.
      */
-    public Snail(World world, float x, float y, Player player, Game game) {
+    public Snail(GameWorld world, float x, float y, Player player, Game game) {
         super(world, x, y, player, game);
     }
 
@@ -55,6 +58,9 @@ public class Snail extends Enemy {
      * This is done to avoid delays when playing the sound during gameplay.
      */
     private static void preloadSplatSound() {
+        if (!AudioSettings.isEnabled()) {
+            return; // Headless runs never open audio lines
+        }
         try {
             for (int i = 0; i < CLIP_POOL_SIZE; i++) {
                 AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
@@ -78,14 +84,12 @@ public class Snail extends Enemy {
      */
     @Override
     public void setImages() {
-        idleImage = new BodyImage(Objects.requireNonNull(getClass().getResource("/game/resources/enemies/snail/idle/snailShell.png")), 1.5f);
+        idleImage = Sprite.load("/game/resources/enemies/snail/idle/snailShell.png", 1.5f);
 
         for (int i = 0; i < 2; i++) {
-            walkRightImages[i] = new BodyImage(Objects.requireNonNull(getClass().getResource(
-                    "/game/resources/enemies/snail/right/snailWalk" + (i + 1) + ".png")), 1.5f);
+            walkRightImages[i] = Sprite.load("/game/resources/enemies/snail/right/snailWalk" + (i + 1) + ".png", 1.5f);
 
-            walkLeftImages[i] = new BodyImage(Objects.requireNonNull(getClass().getResource(
-                    "/game/resources/enemies/snail/left/snailWalk" + (i + 1) + ".png")), 1.5f);
+            walkLeftImages[i] = Sprite.load("/game/resources/enemies/snail/left/snailWalk" + (i + 1) + ".png", 1.5f);
         }
     }
 
@@ -104,10 +108,9 @@ public class Snail extends Enemy {
      */
     private void playSplatSound() {
         if (!splatClipPool.isEmpty()) {
-            Clip clip = splatClipPool.get(currentClipIndex);
+            Clip clip = splatClipPool.get(currentClipIndex.getAndUpdate(i -> (i + 1) % CLIP_POOL_SIZE)); // Move to the next clip in the pool
             clip.setFramePosition(0); // Reset the clip to the beginning
             clip.start();
-            currentClipIndex = (currentClipIndex + 1) % CLIP_POOL_SIZE; // Move to the next clip in the pool
         }
     }
 }
\ No newline at end of file
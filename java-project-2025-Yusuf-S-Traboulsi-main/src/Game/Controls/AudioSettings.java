@@ -0,0 +1,34 @@
+package game.controls;
+
+/**
+ * Global switch for the game's sound effects and music.
+ * Audio is enabled by default; headless simulations disable it before any game class is loaded
+ * so that the static clip pools are never opened.
+ */
+public final class AudioSettings {
+    /**
+     * Whether audio clips should be loaded and played.
+     */
+    private static volatile boolean enabled = !Boolean.getBoolean("game.noAudio");
+
+    private AudioSettings() {
+    }
+
+    /**
+     * Checks whether audio is enabled.
+     *
+     * @return {@code true} if clips should be loaded and played.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables audio. Only affects clips that have not been preloaded yet.
+     *
+     * @param enabled {@code true} to enable audio, {@code false} to disable it.
+     */
+    public static void setEnabled(boolean enabled) {
+        AudioSettings.enabled = enabled;
+    }
+}
@@ -24,6 +24,9 @@ public class BackgroundMusicManager {
      * Handles any exceptions that occur during the loading process.
      */
     private static void preloadBackgroundMusic() {
+        if (!AudioSettings.isEnabled()) {
+            return; // Headless runs never open audio lines
+        }
         try {
             AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
                     Objects.requireNonNull(BackgroundMusicManager.class.getResource("/game/resources/sound/ethbackground.wav")));
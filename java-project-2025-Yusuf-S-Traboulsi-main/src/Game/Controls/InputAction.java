@@ -0,0 +1,66 @@
+package game.controls;
+
+import game.characters.Player;
+
+/**
+ * The player inputs that change how a game plays out.
+ * Inputs are applied between physics steps, so a run can be recorded as a list of actions
+ * against step numbers and replayed exactly.
+ */
+public enum InputAction {
+    /**
+     * The left arrow key was pressed.
+     */
+    MOVE_LEFT,
+    /**
+     * The left arrow key was released.
+     */
+    STOP_LEFT,
+    /**
+     * The right arrow key was pressed.
+     */
+    MOVE_RIGHT,
+    /**
+     * The right arrow key was released.
+     */
+    STOP_RIGHT,
+    /**
+     * The space bar was pressed.
+     */
+    JUMP,
+    /**
+     * The game was paused or resumed with P. Pausing does not change the world, so it is only a marker.
+     */
+    PAUSE,
+    /**
+     * The game was reset to the first level with R or the reset button.
+     */
+    RESET;
+
+    /**
+     * Applies the action to the player. {@link #PAUSE} and {@link #RESET} are handled by the game and do nothing here.
+     * Must be called on the thread that steps the player's world.
+     *
+     * @param player The player to control.
+     */
+    public void apply(Player player) {
+        switch (this) {
+            case MOVE_LEFT -> player.moveLeft();
+            case MOVE_RIGHT -> player.moveRight();
+            case JUMP -> player.jump();
+            case STOP_LEFT -> {
+                if (player.getIsMovingLeft()) {
+                    player.stopMoving();
+                }
+            }
+            case STOP_RIGHT -> {
+                if (player.getIsMovingRight()) {
+                    player.stopMoving();
+                }
+            }
+            default -> {
+                // Pause and reset are game-level actions
+            }
+        }
+    }
+}
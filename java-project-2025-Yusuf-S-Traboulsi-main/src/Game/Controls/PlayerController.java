@@ -1,6 +1,6 @@
 package game.controls;
 
-import game.characters.Player;
+import game.simulation.SimulationThread;
 
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
@@ -8,21 +8,32 @@ import java.awt.event.KeyEvent;
 /**
  * Handles player input for controlling the character's movement and actions.
  * Listens for key events and updates the player's state accordingly.
+ * Key events arrive on the Swing event thread, so they are turned into {@link InputAction}s and
+ * handed to the simulation thread, which applies and records them between physics steps.
  */
 
 public class PlayerController extends KeyAdapter {
     /**
-     * The player character being controlled.
+     * The simulation thread stepping the controlled player's world.
      */
-    private final Player player;
+    private SimulationThread simulation;
 
     /**
-     * Constructs a new PlayerController for the specified player.
+     * Constructs a new PlayerController for the player of the specified simulation.
      *
-     * @param player The player character to control.
+     * @param simulation The simulation thread stepping the player's world.
      */
-    public PlayerController(Player player) {
-        this.player = player;
+    public PlayerController(SimulationThread simulation) {
+        this.simulation = simulation;
+    }
+
+    /**
+     * Hands input to another simulation, such as the next level's, so one controller serves every level.
+     *
+     * @param simulation The simulation thread stepping the player's world.
+     */
+    public void setSimulation(SimulationThread simulation) {
+        this.simulation = simulation;
     }
 
     /**
@@ -33,9 +44,9 @@ public class PlayerController extends KeyAdapter {
     @Override
     public void keyPressed(KeyEvent e) {
         switch (e.getKeyCode()) {
-            case KeyEvent.VK_LEFT -> player.moveLeft();
-            case KeyEvent.VK_RIGHT -> player.moveRight();
-            case KeyEvent.VK_SPACE -> player.jump();
+            case KeyEvent.VK_LEFT -> simulation.submit(InputAction.MOVE_LEFT);
+            case KeyEvent.VK_RIGHT -> simulation.submit(InputAction.MOVE_RIGHT);
+            case KeyEvent.VK_SPACE -> simulation.submit(InputAction.JUMP);
         }
     }
 
@@ -46,11 +57,10 @@ public class PlayerController extends KeyAdapter {
      */
     @Override
     public void keyReleased(KeyEvent e) {
-        if (e.getKeyCode() == KeyEvent.VK_LEFT && player.getIsMovingLeft()) {
-            player.stopMoving();
-        } else if (e.getKeyCode() == KeyEvent.VK_RIGHT && player.getIsMovingRight()) {
-            player.stopMoving();
+        if (e.getKeyCode() == KeyEvent.VK_LEFT) {
+            simulation.submit(InputAction.STOP_LEFT);
+        } else if (e.getKeyCode() == KeyEvent.VK_RIGHT) {
+            simulation.submit(InputAction.STOP_RIGHT);
         }
     }
 }
-
@@ -2,50 +2,102 @@ package game.levelLoader;
 
 import city.cs.engine.*;
 import game.characters.Player;
-import game.main.Game;
+import game.metrics.Metrics;
+import game.rendering.Scenery;
+import game.rendering.Sprite;
+import game.replay.Restorable;
 
-import java.util.Objects;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Represents a door in the game world.
- * The door transitions the player to the next level upon collision.
+ * The door marks itself reached when the player touches it; whoever steps the world moves on to the next
+ * level once the step has finished, rather than from inside the physics callback.
  */
-public class Door extends StaticBody implements CollisionListener {
+public class Door extends StaticBody implements CollisionListener, Scenery, Restorable {
     /**
      * The shape of the door.
      */
     private static final String IMAGE_PATH = "/game/resources/Door/WoodDoor.png"; // Path to the image
 
-    private final Game game;
+    /**
+     * Whether the player has reached the door.
+     */
+    private boolean reached;
+
+    /**
+     * The door sprite.
+     */
+    private final Sprite doorImage;
 
     /**
      * Constructs a door in the specified world.
      * Adds an image to the door and sets up a collision listener.
      *
      * @param world The physics world in which the door exists.
-     * @param game  The main game instance.
      */
-    public Door(World world, Game game) {
+    public Door(World world) {
         super(world, new BoxShape(1, 2)); // Example door shape
-        this.game = game;
 
         // Add the image to the door
-        BodyImage doorImage = new BodyImage(Objects.requireNonNull(Door.class.getResource(IMAGE_PATH)), 4); // Adjust the height (4) as needed
-        addImage(doorImage);
+        doorImage = Sprite.load(IMAGE_PATH, 4); // Adjust the height (4) as needed
 
-        addCollisionListener(this);
+        addCollisionListener(Metrics.timed(this));
     }
 
     /**
      * Handles the collision event with the player.
-     * Transitions to the next level when the player collides with the door.
+     * Marks the door reached the first time the player touches it.
      *
      * @param e The collision event.
      */
     @Override
     public void collide(CollisionEvent e) {
-        if (e.getOtherBody() instanceof Player) {
-            game.loadNextLevel(); // Trigger level transition
+        if (e.getOtherBody() instanceof Player && !reached) {
+            reached = true; // The level ends once this step is over
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the door sprite.
+     *
+     * @return The door sprite.
+     */
+    @Override
+    public Sprite getSprite() {
+        return doorImage;
+    }
+
+    /**
+     * Checks whether the player has reached the door.
+     *
+     * @return {@code true} once the player has touched the door.
+     */
+    public boolean isReached() {
+        return reached;
+    }
+
+    /**
+     * Writes whether the player has reached the door.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the state cannot be written.
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(reached);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If the state cannot be read.
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        reached = in.readBoolean();
+    }
+}
@@ -0,0 +1,218 @@
+package game.levelLoader;
+
+import city.cs.engine.Body;
+import city.cs.engine.StepEvent;
+import city.cs.engine.StepListener;
+import game.characters.Player;
+import game.characters.enemies.EnemyCore;
+import game.metrics.Metrics;
+import game.platforms.Elevator;
+import game.platforms.FallingSpike;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Updates every entity in a game world from a single step listener.
+ * The entities are {@link Updatable}, not step listeners themselves, so only this system can update them.
+ * Entities are kept in one list per kind and updated in a fixed order each step: moving platforms first,
+ * so anything standing on them sees where they are, then the player, then the enemies chasing the player,
+ * and finally falling spikes. Enemies are held by an {@link EnemyCore}, which updates them all in one pass.
+ * Destroyed entities are dropped before the next update, so the cost of a step only grows with the
+ * entities still in the world.
+ */
+public class EntitySystem implements StepListener {
+    /**
+     * The player character.
+     */
+    private Player player;
+    /**
+     * The moving platforms, including moving spikes.
+     */
+    private final List<Elevator> elevators = new ArrayList<>();
+    /**
+     * The enemies.
+     */
+    private final EnemyCore enemyCore = new EnemyCore();
+    /**
+     * The falling spikes.
+     */
+    private final List<FallingSpike> fallingSpikes = new ArrayList<>();
+    /**
+     * Entities destroyed since the lists were last compacted.
+     */
+    private final Set<Body> destroyed = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * The time spent on platforms and spikes so far this step, added up across the two halves of the step.
+     */
+    private long platformNanos;
+    /**
+     * The time spent on the player so far this step.
+     */
+    private long playerNanos;
+    /**
+     * The time spent on enemies so far this step.
+     */
+    private long enemyNanos;
+
+    /**
+     * Adds the player to the system.
+     *
+     * @param player The player character.
+     */
+    public void add(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Adds a moving platform to the system.
+     *
+     * @param elevator The platform to update each step.
+     */
+    public void add(Elevator elevator) {
+        elevators.add(elevator);
+        track(elevator);
+    }
+
+    /**
+     * Gets the core that updates the world's enemies. Enemies add themselves to it when constructed.
+     *
+     * @return The enemy core.
+     */
+    public EnemyCore getEnemyCore() {
+        return enemyCore;
+    }
+
+    /**
+     * Adds a falling spike to the system.
+     *
+     * @param spike The spike to update each step.
+     */
+    public void add(FallingSpike spike) {
+        fallingSpikes.add(spike);
+        track(spike);
+    }
+
+    /**
+     * Gets the number of entities still being updated.
+     *
+     * @return The live entity count, including the player.
+     */
+    public int size() {
+        return (player != null ? 1 : 0) + elevators.size() + enemyCore.size() + fallingSpikes.size();
+    }
+
+    /**
+     * Updates every live entity before the physics step.
+     *
+     * @param e The step event.
+     */
+    @Override
+    public void preStep(StepEvent e) {
+        removeDestroyed();
+        boolean timed = Metrics.isEnabled();
+        long start = now(timed);
+        for (int i = 0; i < elevators.size(); i++) {
+            elevators.get(i).update(e);
+        }
+        long platformsDone = now(timed);
+        long playerDone = platformsDone;
+        long enemiesDone = platformsDone;
+        if (player != null) {
+            player.update(e);
+            playerDone = now(timed);
+            enemyCore.update(player.getPosition().x);
+            enemiesDone = now(timed);
+        }
+        for (int i = 0; i < fallingSpikes.size(); i++) {
+            fallingSpikes.get(i).update(e);
+        }
+        if (timed) {
+            platformNanos = (platformsDone - start) + (now(true) - enemiesDone);
+            playerNanos = playerDone - platformsDone;
+            enemyNanos = enemiesDone - playerDone;
+        }
+    }
+
+    /**
+     * Updates every live entity after the physics step.
+     * Entities destroyed by collisions during the step are dropped first.
+     *
+     * @param e The step event.
+     */
+    @Override
+    public void postStep(StepEvent e) {
+        removeDestroyed();
+        boolean timed = Metrics.isEnabled();
+        long start = now(timed);
+        for (int i = 0; i < elevators.size(); i++) {
+            elevators.get(i).afterStep(e);
+        }
+        long platformsDone = now(timed);
+        if (player != null) {
+            player.afterStep(e);
+        }
+        long playerDone = now(timed);
+        enemyCore.animate(e.getStep());
+        long enemiesDone = now(timed);
+        for (int i = 0; i < fallingSpikes.size(); i++) {
+            fallingSpikes.get(i).afterStep(e);
+        }
+        if (timed) {
+            Metrics.STEP_PLATFORMS.add(platformNanos + (platformsDone - start) + (now(true) - enemiesDone));
+            Metrics.STEP_PLAYER.add(playerNanos + (playerDone - platformsDone));
+            Metrics.STEP_ENEMIES.add(enemyNanos + (enemiesDone - playerDone));
+        }
+    }
+
+    /**
+     * Reads the clock for the step's metrics.
+     *
+     * @param timed Whether the step is being timed.
+     * @return The current time in nanoseconds, or 0 if the step is not being timed.
+     */
+    private static long now(boolean timed) {
+        return timed ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Listens for an entity's destruction so it can be dropped from its list.
+     *
+     * @param entity The entity to watch.
+     */
+    private void track(Body entity) {
+        entity.addDestructionListener(e -> destroyed.add(e.getSource()));
+    }
+
+    /**
+     * Compacts the lists in place if anything was destroyed since the last update.
+     */
+    private void removeDestroyed() {
+        if (destroyed.isEmpty()) {
+            return;
+        }
+        compact(elevators);
+        compact(fallingSpikes);
+        destroyed.clear();
+    }
+
+    /**
+     * Removes destroyed entities from a list, keeping the others in order.
+     *
+     * @param entities The list to compact.
+     * @param <T>      The kind of entity in the list.
+     */
+    private <T extends Body> void compact(List<T> entities) {
+        int kept = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            T entity = entities.get(i);
+            if (!destroyed.contains(entity)) {
+                entities.set(kept++, entity);
+            }
+        }
+        entities.subList(kept, entities.size()).clear();
+    }
+}
@@ -0,0 +1,202 @@
+package game.levelLoader;
+
+import game.characters.enemies.Fly;
+import game.characters.enemies.Snail;
+import game.collectibles.Coin;
+import game.collectibles.HealthCollectible;
+import game.main.Game;
+import game.platforms.Elevator;
+import game.platforms.FallingSpike;
+import game.platforms.Ground;
+import game.platforms.MoveFallingSpike;
+import game.platforms.Trampoline;
+import org.jbox2d.common.Vec2;
+
+/**
+ * The kinds of entity a level file can list, each with the keyword it is written as and the numbers that follow it.
+ * Each kind knows how to add itself to a world, calling the same constructors the levels used to call in code.
+ */
+public enum EntityType {
+    /**
+     * The player's start: {@code player x y}.
+     */
+    PLAYER("player", 2) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            world.getPlayer().setPosition(new Vec2(v[i], v[i + 1]));
+        }
+    },
+    /**
+     * A ground section: {@code ground x y width height}.
+     */
+    GROUND("ground", 4) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new Ground(world, v[i], v[i + 1], v[i + 2], v[i + 3]);
+        }
+    },
+    /**
+     * A raised platform, built like ground: {@code platform x y width height}.
+     */
+    PLATFORM("platform", 4) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new Ground(world, v[i], v[i + 1], v[i + 2], v[i + 3]);
+        }
+    },
+    /**
+     * An elevator moving between two heights: {@code elevator x startY endY speed}.
+     */
+    ELEVATOR("elevator", 4) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new Elevator(world, v[i], v[i + 1], v[i + 2], v[i + 3]).setPosition(new Vec2(v[i], v[i + 1]));
+        }
+    },
+    /**
+     * A spike that falls when the player passes beneath it: {@code spike x y}.
+     */
+    SPIKE("spike", 2) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new FallingSpike(world, v[i], v[i + 1], world.getPlayer());
+        }
+    },
+    /**
+     * A spike moving up and down: {@code moving-spike x startY endY speed}.
+     */
+    MOVING_SPIKE("moving-spike", 4) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new MoveFallingSpike(world, v[i], v[i + 1], v[i + 2], v[i + 3]);
+        }
+    },
+    /**
+     * A trampoline: {@code trampoline x y}.
+     */
+    TRAMPOLINE("trampoline", 2) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new Trampoline(world).setPosition(new Vec2(v[i], v[i + 1]));
+        }
+    },
+    /**
+     * A snail enemy: {@code snail x y}.
+     */
+    SNAIL("snail", 2) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new Snail(world, v[i], v[i + 1], world.getPlayer(), game);
+        }
+    },
+    /**
+     * A fly enemy patrolling between two x-coordinates: {@code fly x y leftLimit rightLimit}.
+     */
+    FLY("fly", 4) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new Fly(world, v[i], v[i + 1], v[i + 2], v[i + 3], world.getPlayer(), game);
+        }
+    },
+    /**
+     * A coin: {@code coin x y}.
+     */
+    COIN("coin", 2) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new Coin(world).setPosition(new Vec2(v[i], v[i + 1]));
+        }
+    },
+    /**
+     * A health gem: {@code health x y}.
+     */
+    HEALTH("health", 2) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            new HealthCollectible(world).setPosition(new Vec2(v[i], v[i + 1]));
+        }
+    },
+    /**
+     * The door to the next level: {@code door x y}.
+     */
+    DOOR("door", 2) {
+        @Override
+        void spawn(GameWorld world, Game game, float[] v, int i) {
+            Door door = new Door(world);
+            door.setPosition(new Vec2(v[i], v[i + 1]));
+            world.setDoor(door);
+        }
+    };
+
+    /**
+     * Every type, indexed by ordinal, so compiled levels can look types up without copying the array.
+     */
+    private static final EntityType[] TYPES = values();
+
+    /**
+     * The word the entity is written as in a level file.
+     */
+    private final String keyword;
+    /**
+     * The number of values that follow the keyword.
+     */
+    private final int arity;
+
+    EntityType(String keyword, int arity) {
+        this.keyword = keyword;
+        this.arity = arity;
+    }
+
+    /**
+     * Gets the word the entity is written as in a level file.
+     *
+     * @return The keyword.
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Gets the number of values that follow the keyword.
+     *
+     * @return The number of values.
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * Finds the type written as a keyword.
+     *
+     * @param keyword The keyword.
+     * @return The type, or {@code null} if no type is written that way.
+     */
+    public static EntityType forKeyword(String keyword) {
+        for (EntityType type : TYPES) {
+            if (type.keyword.equals(keyword)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the type stored as an ordinal in a compiled level.
+     *
+     * @param ordinal The type's ordinal.
+     * @return The type, or {@code null} if the ordinal is out of range.
+     */
+    static EntityType forOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < TYPES.length ? TYPES[ordinal] : null;
+    }
+
+    /**
+     * Adds an entity of this type to a world.
+     *
+     * @param world The world being built.
+     * @param game  The main game instance, or {@code null} when the level is simulated headless.
+     * @param v     The values of every entity in the level.
+     * @param i     The index of this entity's first value.
+     */
+    abstract void spawn(GameWorld world, Game game, float[] v, int i);
+}
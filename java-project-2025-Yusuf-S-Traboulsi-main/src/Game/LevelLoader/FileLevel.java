@@ -0,0 +1,122 @@
+package game.levelLoader;
+
+import game.main.Game;
+
+/**
+ * A level read from a level file by {@link LevelLoader}.
+ * The entities are held as one type per entity and one flat array of their values, in the order the file
+ * lists them, and are only turned into bodies when a world is built.
+ */
+public final class FileLevel implements Level {
+    /**
+     * The level's name, from its file name.
+     */
+    private final String name;
+    /**
+     * The resource path of the level's background image, or {@code null} for the view's default.
+     */
+    private final String background;
+    /**
+     * The type of each entity, as ordinals of {@link EntityType}.
+     */
+    private final byte[] types;
+    /**
+     * The values of every entity, each entity's following the previous one's.
+     */
+    private final float[] values;
+    /**
+     * The main game instance, or {@code null} when the level is simulated headless.
+     */
+    private final Game game;
+
+    /**
+     * Creates a level from its entities.
+     *
+     * @param name       The level's name.
+     * @param background The resource path of the background image, or {@code null} for none.
+     * @param types      The type of each entity, as ordinals of {@link EntityType}.
+     * @param values     The values of every entity, in order.
+     * @param game       The main game instance, or {@code null} when the level is simulated headless.
+     */
+    FileLevel(String name, String background, byte[] types, float[] values, Game game) {
+        this.name = name;
+        this.background = background;
+        this.types = types;
+        this.values = values;
+        this.game = game;
+    }
+
+    /**
+     * Gets a copy of this level that builds its worlds for a game. The entities are shared, not copied.
+     *
+     * @param game The main game instance, or {@code null} when the level is simulated headless.
+     * @return The level for the game.
+     */
+    public FileLevel withGame(Game game) {
+        return new FileLevel(name, background, types, values, game);
+    }
+
+    /**
+     * Builds a world holding every entity in the file, added in the order they are listed.
+     *
+     * @return The created game world.
+     */
+    @Override
+    public GameWorld createWorld() {
+        GameWorld world = new GameWorld(game);
+        int value = 0;
+        for (byte ordinal : types) {
+            EntityType type = EntityType.forOrdinal(ordinal);
+            type.spawn(world, game, values, value);
+            value += type.getArity();
+        }
+        return world;
+    }
+
+    /**
+     * Gets the level's name, from its file name.
+     *
+     * @return The name.
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the resource path of the level's background image.
+     *
+     * @return The path, or {@code null} if the level does not set one.
+     */
+    @Override
+    public String getBackground() {
+        return background;
+    }
+
+    /**
+     * Gets the number of entities in the level.
+     *
+     * @return The entity count.
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * Gets the type of each entity, for writing the level out.
+     *
+     * @return The types, as ordinals of {@link EntityType}. Not a copy.
+     */
+    byte[] types() {
+        return types;
+    }
+
+    /**
+     * Gets the values of every entity, for writing the level out.
+     *
+     * @return The values. Not a copy.
+     */
+    float[] values() {
+        return values;
+    }
+}
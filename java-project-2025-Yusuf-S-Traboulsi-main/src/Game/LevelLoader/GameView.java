@@ -1,149 +1,374 @@
 package game.levelLoader;
 
 import game.characters.Player;
+import game.characters.enemies.EnemyCore;
 import city.cs.engine.UserView;
 import city.cs.engine.World;
-import game.hud.CoinsCollected;
-import game.hud.HealthBar;
+import game.hud.GlyphAtlas;
+import game.hud.Hud;
 import game.hud.Timer;
-import org.jbox2d.common.Vec2;
+import game.metrics.Metrics;
+import game.rendering.ActiveRenderer;
+import game.rendering.BackgroundCache;
+import game.rendering.RenderSnapshot;
+import game.rendering.WorldRenderer;
+import game.simulation.SimulationThread;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.Objects;
 
 import game.controls.BackgroundMusicManager;
+import game.controls.InputAction;
 
 /**
  * Represents the view for the game world.
  * Handles rendering of the background, foreground, HUD elements, and pause state.
  * Also manages the camera and temporary messages.
+ * Bodies are painted from the latest {@link RenderSnapshot} published by the simulation thread,
+ * never from the live world, and only those in view are drawn.
  */
 public class GameView extends UserView {
-
     /**
-     * The health bar displayed on the screen.
+     * The default number of frames presented per second, independent of the physics rate.
+     */
+    public static final int DEFAULT_FRAME_RATE = 120;
+    /**
+     * The system property that switches views to active rendering, e.g. {@code -Dgame.activeRendering=true}.
+     * Without it, views repaint passively from a Swing timer.
+     */
+    public static final String ACTIVE_RENDERING_PROPERTY = "game.activeRendering";
+    /**
+     * The system property setting the render resolution as a fraction of the view's size,
+     * e.g. {@code -Dgame.renderScale=0.5} to render at half resolution and upscale.
+     */
+    public static final String RENDER_SCALE_PROPERTY = "game.renderScale";
+    /**
+     * The view width the game's layout was designed for, and the size of a new window.
      */
-    private final HealthBar healthBar;
+    public static final int DESIGN_WIDTH = 800;
     /**
-     * The coins collected by the player displayed on the screen.
+     * The view height the game's layout was designed for. The zoom, HUD and text are scaled by the
+     * frame's height over this, so every window size shows the same height of the world.
      */
-    private final CoinsCollected coinsCollected;
+    public static final int DESIGN_HEIGHT = 600;
+    /**
+     * The colour darkening the view while the game is paused.
+     */
+    private static final Color PAUSE_OVERLAY = new Color(0, 0, 0, 150);
+    /**
+     * The glyphs the pause text is drawn with.
+     */
+    private static final GlyphAtlas PAUSE_GLYPHS = new GlyphAtlas(new Font("Arial", Font.BOLD, 36), Color.WHITE);
+    /**
+     * The glyphs temporary messages are drawn with.
+     */
+    private static final GlyphAtlas MESSAGE_GLYPHS = new GlyphAtlas(new Font("Arial", Font.BOLD, 18), Color.WHITE);
+
+    /**
+     * The health bar, coin counter and timer, drawn as one cached overlay.
+     */
+    private final Hud hud;
     /**
      * The timer displayed on the end screen.
      */
     private final Timer timer;// Timer instance
     /**
-     * The player character whose position is tracked by the camera.
+     * The background shown when the level does not provide its own.
      */
-    private Player player;
+    private final BackgroundCache defaultBackground = new BackgroundCache();
     /**
-     * The background image displayed in the game view.
+     * The background image displayed in the game view, scaled to the view.
+     * The fields a frame is drawn from are volatile, as in active mode frames are drawn on the render thread
+     * while the event thread rebinds the view to each new level.
      */
-    private BufferedImage backgroundImage; // Background image
+    private volatile BackgroundCache background = defaultBackground;
     /**
      * Indicates whether the game is paused.
      */
-    private boolean paused = false;
+    private volatile boolean paused = false;
     /**
      * The message to be displayed temporarily on the screen.
      */
-    private String temporaryMessage;// Field to hold the message
+    private volatile String temporaryMessage;// Field to hold the message
     /**
      * The time when the temporary message should disappear.
      */
-    private long messageEndTime;
+    private volatile long messageEndTime;
+    /**
+     * The simulation thread stepping the world and publishing snapshots.
+     */
+    private volatile SimulationThread simulation;
+    /**
+     * Draws the bodies of each snapshot that are in view.
+     */
+    private final WorldRenderer renderer = new WorldRenderer();
+    /**
+     * Repaints the view at the presentation frame rate while it is displayed, in passive mode.
+     */
+    private final javax.swing.Timer presentationTimer = new javax.swing.Timer(1000 / DEFAULT_FRAME_RATE, e -> repaint());
+    /**
+     * Renders frames on its own thread in active mode, or {@code null} in passive mode.
+     */
+    private final ActiveRenderer activeRenderer = Boolean.getBoolean(ACTIVE_RENDERING_PROPERTY)
+            ? new ActiveRenderer(this, (g, width, height) -> renderFrame(g), DEFAULT_FRAME_RATE)
+            : null;
+
+    /**
+     * The render resolution as a fraction of the view's size.
+     */
+    private volatile float renderScale = renderScaleProperty();
+    /**
+     * The frame drawn at the render resolution before it is upscaled, or {@code null} when rendering at full size.
+     * Only made again when the view or render resolution changes size.
+     */
+    private BufferedImage scaledFrame;
+    /**
+     * The view's half-width in world units as last given to the simulation. Only used on the event thread.
+     */
+    private float sentViewHalfWidth;
 
     /**
      * Constructs a new game view for the specified world and player.
-     * Initializes HUD elements and loads the background image.
+     * Initializes HUD elements and sets the default background image.
      *
      * @param world  The game world to be rendered.
      * @param width  The width of the view.
      * @param height The height of the view.
-     * @param player The player character to track.
+     * @param player The player character shown on the HUD.
      */
     public GameView(World world, int width, int height, Player player) {
         super(world, width, height);
-        this.player = player;
-        this.healthBar = new HealthBar(world, player, width, height);
-        this.coinsCollected = new CoinsCollected(world, player, width, height);
         this.timer = new Timer(); // Initialize the timer
+        this.hud = new Hud(player, timer);
 
+        // Decoded on first paint, so a level that sets its own background never loads this one
+        defaultBackground.setImage("/game/resources/background/level2_background.png");
 
-        // Load the background image
-        try {
-            backgroundImage = ImageIO.read(Objects.requireNonNull(getClass().getResource("/game/resources/background/level2_background.png")));
-        } catch (IOException e) {
-            System.err.println("Error loading background image: " + e.getMessage());
+        // Enemies are updated and animated across the whole of the view, so the simulation follows its width
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                SimulationThread current = simulation;
+                float halfWidth = getViewHalfWidth();
+                if (current != null && halfWidth != sentViewHalfWidth) {
+                    sentViewHalfWidth = halfWidth;
+                    current.setViewHalfWidth(halfWidth);
+                }
+            }
+        });
+    }
+
+    /**
+     * Shows a background that has already been loaded, and usually scaled, elsewhere,
+     * such as while the level was being built in the background.
+     *
+     * @param background The background to show in place of the view's own, or {@code null} to go back to the default.
+     */
+    public void useBackground(BackgroundCache background) {
+        rebind(() -> this.background = background != null ? background : defaultBackground);
+    }
+
+    /**
+     * Paints the background, the bodies in the latest snapshot, and the foreground.
+     * Overrides CityEngine's painting, which reads bodies straight from the world.
+     * In active mode this only copies the frame the render thread last drew.
+     *
+     * @param g The graphics context used for rendering.
+     */
+    @Override
+    public void paintComponent(Graphics g) {
+        if (activeRenderer != null) {
+            activeRenderer.present(g);
+        } else {
+            renderFrame((Graphics2D) g);
         }
     }
 
     /**
-     * Loads a new background image for the game view.
+     * Draws a whole frame at the render resolution, upscaling it to the view if that is smaller.
+     * Runs on the event thread in passive mode and on the render thread in active mode.
      *
-     * @param imagePath The path to the background image file.
+     * @param g2 The graphics context to draw into.
      */
-    public void loadBackgroundImage(String imagePath) {
+    private void renderFrame(Graphics2D g2) {
+        int width = getWidth();
+        int height = getHeight();
+        float scale = renderScale;
+        if (scale >= 1 || width <= 0 || height <= 0) {
+            scaledFrame = null;
+            drawFrame(g2, width, height);
+            return;
+        }
+        int renderWidth = Math.max(1, Math.round(width * scale));
+        int renderHeight = Math.max(1, Math.round(height * scale));
+        if (scaledFrame == null || scaledFrame.getWidth() != renderWidth || scaledFrame.getHeight() != renderHeight) {
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            scaledFrame = config != null
+                    ? config.createCompatibleImage(renderWidth, renderHeight, Transparency.OPAQUE)
+                    : new BufferedImage(renderWidth, renderHeight, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D frame = scaledFrame.createGraphics();
         try {
-            backgroundImage = ImageIO.read(Objects.requireNonNull(getClass().getResource(imagePath)));
-        } catch (IOException e) {
-            System.err.println("Error loading background image: " + e.getMessage());
-            backgroundImage = null; // Fallback to no image
+            drawFrame(frame, renderWidth, renderHeight);
+        } finally {
+            frame.dispose();
         }
+        g2.drawImage(scaledFrame, 0, 0, width, height, null); // Nearest neighbour, the cheapest upscale
     }
 
     /**
-     * Renders the background of the game view.
+     * Draws the background, the bodies in the latest snapshot, and the foreground into a frame.
      *
-     * @param g The graphics context used for rendering.
+     * @param g2     The graphics context to draw into.
+     * @param width  The frame's width in pixels.
+     * @param height The frame's height in pixels.
+     */
+    private void drawFrame(Graphics2D g2, int width, int height) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        long start = Metrics.start();
+        drawBackground(g2, width, height);
+        Metrics.PAINT_BACKGROUND.stop(start);
+
+        SimulationThread stepping = simulation;
+        RenderSnapshot snapshot = stepping != null ? stepping.acquireSnapshot() : null;
+        if (snapshot != null) {
+            try {
+                // Draw between the previous and latest step, by how far real time has moved past the latest one
+                float alpha = paused ? 1 : (System.nanoTime() - snapshot.getCapturedNanos()) / (float) stepping.getStepNanos();
+                alpha = Math.max(0, Math.min(1, alpha));
+
+                // The camera follows the player's X position, as in CityEngine's setCentre
+                start = Metrics.start();
+                renderer.paint(g2, snapshot, alpha, getZoom() * height / DESIGN_HEIGHT, width, height);
+                Metrics.PAINT_BODIES.stop(start);
+            } finally {
+                snapshot.release(); // The simulation may capture into it again
+            }
+        }
+
+        start = Metrics.start();
+        drawForeground(g2, width, height);
+        Metrics.PAINT_FOREGROUND.stop(start);
+    }
+
+    /**
+     * Starts presenting frames when the view is added to a displayed container.
      */
     @Override
-    protected void paintBackground(Graphics2D g) {
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+    public void addNotify() {
+        super.addNotify();
+        if (activeRenderer != null) {
+            activeRenderer.start();
         } else {
-            g.setColor(Color.CYAN); // Fallback sky color if image fails to load
-            g.fillRect(0, 0, getWidth(), getHeight());
+            presentationTimer.start();
         }
     }
 
     /**
-     * Renders the foreground elements, including HUD and pause state.
-     *
-     * @param g The graphics context used for rendering.
+     * Stops presenting frames when the view is removed, so replaced levels stop repainting.
      */
     @Override
-    protected void paintForeground(Graphics2D g) {
-        super.paintForeground(g);
-        healthBar.paintForeground(g);
-        coinsCollected.paintForeground(g);
-        timer.paintForeground(g, getWidth()); // Render the timer
+    public void removeNotify() {
+        presentationTimer.stop();
+        if (activeRenderer != null) {
+            activeRenderer.stop();
+        }
+        super.removeNotify();
+    }
 
+    /**
+     * Sets how many frames per second the view presents. Frames between physics steps are interpolated,
+     * so this can be higher than the simulation rate.
+     *
+     * @param framesPerSecond The target presentation rate.
+     */
+    public void setTargetFrameRate(int framesPerSecond) {
+        presentationTimer.setDelay(Math.max(1, 1000 / framesPerSecond));
+        if (activeRenderer != null) {
+            activeRenderer.setTargetFrameRate(framesPerSecond);
+        }
+    }
 
+    /**
+     * Sets the render resolution as a fraction of the view's size. Below 1 the frame is drawn smaller and
+     * upscaled, trading sharpness for speed; the picture shows the same part of the world either way.
+     *
+     * @param scale The fraction of the view's size to render at, from just above 0 to 1.
+     */
+    public void setRenderScale(float scale) {
+        renderScale = Math.max(0.1f, Math.min(1, scale));
+    }
+
+    /**
+     * Draws the background scaled to a frame. The scaled copy is cached until the frame's size changes.
+     *
+     * @param g      The graphics context used for rendering.
+     * @param width  The frame's width in pixels.
+     * @param height The frame's height in pixels.
+     */
+    private void drawBackground(Graphics2D g, int width, int height) {
+        BufferedImage image = background.get(getGraphicsConfiguration(), width, height);
+        if (image != null) {
+            g.drawImage(image, 0, 0, null);
+        } else {
+            g.setColor(Color.CYAN); // Fallback sky color if image fails to load
+            g.fillRect(0, 0, width, height);
+        }
+    }
+
+    /**
+     * Draws the HUD, the pause overlay and any temporary message into a frame,
+     * sized as they would be in a view of {@link #DESIGN_HEIGHT}.
+     *
+     * @param g      The graphics context used for rendering.
+     * @param width  The frame's width in pixels.
+     * @param height The frame's height in pixels.
+     */
+    private void drawForeground(Graphics2D g, int width, int height) {
+        float scale = height / (float) DESIGN_HEIGHT;
+        long start = Metrics.start();
+        hud.paint(g, getGraphicsConfiguration(), width, scale);
+        Metrics.PAINT_HUD.stop(start);
+
+        // Read once, as the event thread may replace it meanwhile; it is shown until it expires
+        String message = System.currentTimeMillis() < messageEndTime ? temporaryMessage : null;
+        boolean paused = this.paused;
+        if (!paused && message == null) {
+            return;
+        }
+        AffineTransform frameTransform = g.getTransform();
+        g.scale(scale, scale);
+        int layoutWidth = Math.round(width / scale);
         if (paused) {
-            g.setColor(new Color(0, 0, 0, 150)); // Semi-transparent overlay
-            g.fillRect(0, 0, getWidth(), getHeight());
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, 36));
-            g.drawString("Paused", getWidth() / 2 - 60, getHeight() / 2);
+            g.setColor(PAUSE_OVERLAY); // Semi-transparent overlay
+            g.fillRect(0, 0, layoutWidth, DESIGN_HEIGHT);
+            PAUSE_GLYPHS.drawString(g, "Paused", layoutWidth / 2 - 60, DESIGN_HEIGHT / 2);
         }
-        if (temporaryMessage != null && System.currentTimeMillis() < messageEndTime) {
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, 18));
-            g.drawString(temporaryMessage, 10, getHeight() / 2); // Display on the left in the center
-            temporaryMessage = null; // Clear the message after the duration
+        if (message != null) {
+            MESSAGE_GLYPHS.drawString(g, message, 10, DESIGN_HEIGHT / 2); // Display on the left in the center
         }
+        g.setTransform(frameTransform);
     }
 
     /**
-     * Updates the camera position to follow the player.
-     * The camera is centered on the player's X position.
+     * Reads the render scale from {@link #RENDER_SCALE_PROPERTY}.
+     *
+     * @return The render scale, 1 if the property is not set or not a number.
      */
-    public void updateCamera() {
-        this.setCentre(new Vec2(player.getPosition().x, 0));
+    private static float renderScaleProperty() {
+        String value = System.getProperty(RENDER_SCALE_PROPERTY);
+        if (value == null) {
+            return 1;
+        }
+        try {
+            return Math.max(0.1f, Math.min(1, Float.parseFloat(value)));
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring " + RENDER_SCALE_PROPERTY + "=" + value + ": not a number");
+            return 1;
+        }
     }
 
     /**
@@ -156,36 +381,80 @@ public class GameView extends UserView {
     }
 
     /**
-     * Sets the world to be rendered by the view.
+     * Sets the world to be rendered by the view, so the same view can show each level in turn.
      *
      * @param world The new game world.
      */
+    @Override
     public void setWorld(World world) {
-        this.setWorld(world);
+        rebind(() -> super.setWorld(world));
+    }
+
+    /**
+     * Sets the simulation thread whose snapshots are painted and which is paused by {@link #togglePause()}.
+     * A new simulation starts running, so the view is no longer shown as paused.
+     *
+     * @param simulation The simulation thread stepping this view's world.
+     */
+    public void setSimulation(SimulationThread simulation) {
+        rebind(() -> {
+            this.simulation = simulation;
+            paused = false;
+            temporaryMessage = null;
+        });
+        sentViewHalfWidth = getViewHalfWidth();
+        simulation.setViewHalfWidth(sentViewHalfWidth);
     }
 
     /**
-     * Sets the player character to be tracked by the camera.
+     * Works out how much of the world the view shows either side of the camera, as drawn by {@link #drawFrame}.
+     *
+     * @return Half the width of the view in world units, or the default before the view has a size.
+     */
+    private float getViewHalfWidth() {
+        if (getWidth() <= 0 || getHeight() <= 0) {
+            return EnemyCore.DEFAULT_VIEW_HALF_WIDTH;
+        }
+        return getWidth() * DESIGN_HEIGHT / (2f * getZoom() * getHeight());
+    }
+
+    /**
+     * Sets the player character shown on the HUD. The camera follows whichever player the snapshots are taken of.
      *
      * @param player The new player character.
      */
     public void setPlayer(Player player) {
-        this.player = player;
+        rebind(() -> hud.setPlayer(player));
+    }
+
+    /**
+     * Changes what the view draws. In active mode the change waits for the frame being drawn to finish,
+     * so no frame mixes one level's state with the next.
+     *
+     * @param change The change to make.
+     */
+    private void rebind(Runnable change) {
+        if (activeRenderer != null) {
+            activeRenderer.runBetweenFrames(change);
+        } else {
+            change.run();
+        }
     }
 
 
     /**
      * Toggles the pause state of the game.
-     * Stops or resumes the physics world and background music.
+     * Pauses or resumes the simulation thread and background music.
      */
     public void togglePause() {
         paused = !paused; // Toggle pause state
+        simulation.setPaused(paused);
+        simulation.submit(InputAction.PAUSE); // Marks the pause in the input recording
         if (paused) {
-            getWorld().stop(); // Stop the physics world
             BackgroundMusicManager.stopMusic(); // Pause the music
         } else {
-            getWorld().start(); // Resume the physics world
             BackgroundMusicManager.startMusic(); // Resume the music
         }
+        repaint(); // No steps arrive while paused, so show the overlay now
     }
 }
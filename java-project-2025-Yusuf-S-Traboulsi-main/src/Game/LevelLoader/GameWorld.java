@@ -2,6 +2,7 @@ package game.levelLoader;
 
 import game.characters.Player;
 import game.main.Game;
+import game.metrics.Metrics;
 import city.cs.engine.World;
 
 /**
@@ -9,6 +10,11 @@ import city.cs.engine.World;
  * Manages the player, door, and background, and sets up the physics environment.
  */
 public class GameWorld extends World {
+    /**
+     * How many steps apart the world's bodies are counted for the metrics, as counting them builds a list.
+     */
+    private static final int BODY_COUNT_INTERVAL = 60;
+
     /**
      * The player character in the game world.
      */
@@ -21,12 +27,20 @@ public class GameWorld extends World {
      * The door that signifies the level's exit.
      */
     private Door door;
+    /**
+     * Updates the world's entities each step, in place of one step listener per entity.
+     */
+    private final EntitySystem entities = new EntitySystem();
+    /**
+     * The number of steps taken, used to decide when to count bodies.
+     */
+    private long steps;
 
     /**
      * Constructs a new game world with the specified game instance.
      * Initializes the player and sets the gravity for the world.
      *
-     * @param game The main game instance.
+     * @param game The main game instance, or {@code null} when the level is simulated headless.
      */
     public GameWorld(Game game) {
         super();
@@ -34,11 +48,33 @@ public class GameWorld extends World {
 
         // Set gravity
         setGravity(10);
+        addStepListener(entities);
 
         // Create player
         player = new Player(this, game);
     }
 
+    /**
+     * Advances the world by one physics step, recording the step's time, allocation and collisions.
+     */
+    @Override
+    public void oneStep() {
+        long allocatedBefore = Metrics.allocatedBytes();
+        long start = Metrics.start();
+        super.oneStep();
+        Metrics.WORLD_STEP.stop(start);
+        Metrics.stopAllocation(Metrics.STEP_ALLOCATED_BYTES, allocatedBefore);
+
+        steps++;
+        if (Metrics.isEnabled()) {
+            Metrics.COLLISIONS_PER_STEP.add(Metrics.takeCollisionCount());
+            if (steps % BODY_COUNT_INTERVAL == 0) {
+                Metrics.DYNAMIC_BODIES.add(getDynamicBodies().size());
+                Metrics.STATIC_BODIES.add(getStaticBodies().size());
+            }
+        }
+    }
+
     /**
      * Retrieves the player character in the game world.
      *
@@ -48,6 +84,15 @@ public class GameWorld extends World {
         return player;
     }
 
+    /**
+     * Retrieves the system that updates the world's entities each step.
+     *
+     * @return The entity system.
+     */
+    public EntitySystem getEntities() {
+        return entities;
+    }
+
     /**
      * Retrieves the door in the game world.
      *
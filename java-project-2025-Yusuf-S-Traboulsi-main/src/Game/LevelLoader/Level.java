@@ -0,0 +1,32 @@
+package game.levelLoader;
+
+/**
+ * Interface for defining levels in the game.
+ * A level knows how to build a fresh {@link GameWorld} populated with its platforms, enemies and collectibles.
+ */
+public interface Level {
+    /**
+     * Creates the game world for the level.
+     *
+     * @return The created game world.
+     */
+    GameWorld createWorld();
+
+    /**
+     * Gets the name results and assets for the level are recorded under.
+     *
+     * @return The level's name, by default its class name.
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Gets the resource path of the level's background image.
+     *
+     * @return The path, or {@code null} if the level does not set one.
+     */
+    default String getBackground() {
+        return null;
+    }
+}
@@ -0,0 +1,329 @@
+package game.levelLoader;
+
+import game.main.Game;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reads levels from level files, so levels can be added or changed without recompiling the game.
+ * <p>
+ * A level file is text, one entity per line: the entity's keyword followed by its numbers, as listed in
+ * {@link EntityType}. A {@code background} line names the level's background image, and lines starting
+ * with {@code #} are comments. Entities are added to the world in the order they are listed.
+ * <pre>
+ * background /game/resources/background/level1_background.png
+ * player -14 -8
+ * ground 0 -10 20 1
+ * coin -4 -6
+ * door 14 -8
+ * </pre>
+ * The same level can be compiled to a compact binary form with {@link #main(String[])}, which loads without any
+ * parsing. The loader tells the two apart by the binary form's header, so either can be listed.
+ * <p>
+ * The game's levels are listed, in play order, in {@value #INDEX} in {@link #DIRECTORY}. Setting
+ * {@value #DIRECTORY_PROPERTY} to a folder on disk loads the index and levels from there instead.
+ */
+public final class LevelLoader {
+    /**
+     * The resource directory holding the game's level files and their index.
+     */
+    public static final String DIRECTORY = "/game/resources/levels/";
+    /**
+     * The name of the file listing the levels in play order.
+     */
+    public static final String INDEX = "levels.index";
+    /**
+     * The system property naming a folder to load levels from instead of the resources,
+     * e.g. {@code -Dgame.levels=levels}.
+     */
+    public static final String DIRECTORY_PROPERTY = "game.levels";
+    /**
+     * The first bytes of a compiled level: "LVL" and the format version.
+     */
+    private static final int MAGIC = 0x4C564C01;
+    /**
+     * The keyword of the line naming the background image.
+     */
+    private static final String BACKGROUND = "background";
+    /**
+     * A number as level files write it: plain decimal, optionally with an exponent.
+     * Rules out the NaN, Infinity and hexadecimal forms {@link Float#parseFloat(String)} also accepts.
+     */
+    private static final Pattern NUMBER = Pattern.compile("[-+]?(\\d+\\.?\\d*|\\.\\d+)([eE][-+]?\\d+)?");
+
+    private LevelLoader() {
+    }
+
+    /**
+     * Compiles text level files to the binary form.
+     * Run as {@code java -cp out game.levelLoader.LevelLoader <level file> <compiled file>}.
+     *
+     * @param args The text file to read and the binary file to write.
+     * @throws IOException If a file cannot be read or written, or the level is not valid.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelLoader <level file> <compiled file>");
+            return;
+        }
+        Path source = Path.of(args[0]);
+        FileLevel level = read(nameOf(source.getFileName().toString()), Files.readAllBytes(source));
+        try (OutputStream out = Files.newOutputStream(Path.of(args[1]))) {
+            write(level, out);
+        }
+        System.out.println("Compiled " + level.size() + " entities to " + args[1]);
+    }
+
+    /**
+     * Loads every level listed in the index, in play order.
+     * A level that cannot be read is reported and left out, so the rest can still be played.
+     *
+     * @param game The main game instance, or {@code null} when the levels are simulated headless.
+     * @return The levels.
+     */
+    public static List<Level> loadAll(Game game) {
+        List<Level> levels = new ArrayList<>();
+        String folder = System.getProperty(DIRECTORY_PROPERTY);
+        List<String> files;
+        try {
+            files = listLevels(folder);
+        } catch (IOException e) {
+            System.err.println("Error loading level index: " + e.getMessage());
+            return levels;
+        }
+        for (String file : files) {
+            try {
+                levels.add(read(nameOf(file), open(folder, file)).withGame(game));
+            } catch (IOException e) {
+                System.err.println("Error loading level " + file + ": " + e.getMessage());
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Loads every level listed in the index, in play order, stopping at the first that cannot be read.
+     * Headless runs pick levels by their place in the index, so leaving one out would run the wrong level.
+     *
+     * @return The levels, with no game.
+     * @throws IOException If the index or any level it lists cannot be read.
+     */
+    public static List<Level> loadAllOrFail() throws IOException {
+        List<Level> levels = new ArrayList<>();
+        String folder = System.getProperty(DIRECTORY_PROPERTY);
+        for (String file : listLevels(folder)) {
+            try {
+                levels.add(read(nameOf(file), open(folder, file)));
+            } catch (IOException e) {
+                throw new IOException("Error loading level " + file + ": " + e.getMessage(), e);
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Reads the index of levels.
+     *
+     * @param folder The folder set by {@link #DIRECTORY_PROPERTY}, or {@code null}.
+     * @return The level files listed, in play order.
+     * @throws IOException If the index cannot be found or read.
+     */
+    private static List<String> listLevels(String folder) throws IOException {
+        List<String> files = new ArrayList<>();
+        for (String file : new String(open(folder, INDEX), StandardCharsets.UTF_8).split("\\R")) {
+            file = file.trim();
+            if (!file.isEmpty() && !file.startsWith("#")) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Reads a level in either form.
+     *
+     * @param name The name to give the level.
+     * @param data The contents of the level file.
+     * @return The level, with no game; see {@link FileLevel#withGame(Game)}.
+     * @throws IOException If the level is not valid.
+     */
+    public static FileLevel read(String name, byte[] data) throws IOException {
+        if (data.length >= 4 && ByteBuffer.wrap(data).getInt() == MAGIC) {
+            return readCompiled(name, data);
+        }
+        return parse(name, new StringReader(new String(data, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Parses a text level.
+     *
+     * @param name   The name to give the level.
+     * @param source The level's text.
+     * @return The level, with no game.
+     * @throws IOException If the text cannot be read or a line is not valid.
+     */
+    public static FileLevel parse(String name, Reader source) throws IOException {
+        String background = null;
+        byte[] types = new byte[64];
+        float[] values = new float[256];
+        int count = 0;
+        int valueCount = 0;
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            if (fields[0].equals(BACKGROUND) && fields.length == 2) {
+                background = fields[1];
+                continue;
+            }
+            EntityType type = EntityType.forKeyword(fields[0]);
+            if (type == null) {
+                throw new IOException(name + ":" + lineNumber + ": unknown entity '" + fields[0] + "'");
+            }
+            if (fields.length != type.getArity() + 1) {
+                throw new IOException(name + ":" + lineNumber + ": " + type.getKeyword() + " takes "
+                        + type.getArity() + " numbers");
+            }
+            if (count == types.length) {
+                types = Arrays.copyOf(types, count * 2);
+            }
+            if (valueCount + type.getArity() > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, valueCount + type.getArity()));
+            }
+            types[count++] = (byte) type.ordinal();
+            for (int f = 1; f < fields.length; f++) {
+                float value = NUMBER.matcher(fields[f]).matches() ? Float.parseFloat(fields[f]) : Float.NaN;
+                if (!Float.isFinite(value)) {
+                    // Also catches numbers too large for a float, which parse to infinity
+                    throw new IOException(name + ":" + lineNumber + ": '" + fields[f] + "' is not a number");
+                }
+                values[valueCount++] = value;
+            }
+        }
+        return new FileLevel(name, background, Arrays.copyOf(types, count), Arrays.copyOf(values, valueCount), null);
+    }
+
+    /**
+     * Writes a level in the binary form: the header, the background path, the entity count,
+     * then each entity's type followed by its values.
+     *
+     * @param level The level to write.
+     * @param out   The stream to write to. It is not closed.
+     * @throws IOException If the stream cannot be written.
+     */
+    public static void write(FileLevel level, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        byte[] background = (level.getBackground() != null ? level.getBackground() : "").getBytes(StandardCharsets.UTF_8);
+        data.writeShort(background.length);
+        data.write(background);
+        byte[] types = level.types();
+        float[] values = level.values();
+        data.writeInt(types.length);
+        int value = 0;
+        for (byte ordinal : types) {
+            data.writeByte(ordinal);
+            for (int end = value + EntityType.forOrdinal(ordinal).getArity(); value < end; value++) {
+                data.writeFloat(values[value]);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a level in the binary form.
+     *
+     * @param name The name to give the level.
+     * @param data The compiled level.
+     * @return The level, with no game.
+     * @throws IOException If the data is cut short, names an unknown entity type or holds a value that is not finite.
+     */
+    private static FileLevel readCompiled(String name, byte[] data) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(data); // Big-endian, as DataOutputStream wrote it
+        try {
+            in.getInt(); // The header, already checked
+            byte[] path = new byte[Short.toUnsignedInt(in.getShort())];
+            in.get(path);
+            String background = new String(path, StandardCharsets.UTF_8);
+            int count = in.getInt();
+            if (count < 0 || count > in.remaining()) {
+                throw new IOException(name + ": corrupt entity count " + count);
+            }
+            byte[] types = new byte[count];
+            // Every value is 4 bytes, so what is left of the file bounds how many there can be
+            float[] values = new float[(in.remaining() - count) / 4];
+            int valueCount = 0;
+            for (int i = 0; i < count; i++) {
+                types[i] = in.get();
+                EntityType type = EntityType.forOrdinal(types[i]);
+                if (type == null) {
+                    throw new IOException(name + ": unknown entity type " + types[i]);
+                }
+                for (int v = 0; v < type.getArity(); v++) {
+                    float value = in.getFloat();
+                    if (!Float.isFinite(value)) {
+                        throw new IOException(name + ": entity " + (i + 1) + " has the value " + value);
+                    }
+                    values[valueCount++] = value;
+                }
+            }
+            return new FileLevel(name, background.isEmpty() ? null : background, types,
+                    Arrays.copyOf(values, valueCount), null);
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException(name + ": compiled level is cut short");
+        }
+    }
+
+    /**
+     * Reads a file from the levels folder, or from the resources if no folder is set.
+     *
+     * @param folder The folder set by {@link #DIRECTORY_PROPERTY}, or {@code null}.
+     * @param file   The file's name.
+     * @return The file's contents.
+     * @throws IOException If the file cannot be found or read.
+     */
+    private static byte[] open(String folder, String file) throws IOException {
+        if (folder != null) {
+            return Files.readAllBytes(Path.of(folder, file));
+        }
+        try (InputStream in = LevelLoader.class.getResourceAsStream(DIRECTORY + file)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + DIRECTORY + file);
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Gets a level's name from its file name.
+     *
+     * @param file The file name.
+     * @return The file name without its extension.
+     */
+    private static String nameOf(String file) {
+        int dot = file.lastIndexOf('.');
+        return dot > 0 ? file.substring(0, dot) : file;
+    }
+}
@@ -0,0 +1,24 @@
+package game.levelLoader;
+
+import city.cs.engine.StepEvent;
+
+/**
+ * An entity updated each step by its world's {@link EntitySystem}, in the system's fixed order.
+ * Deliberately not a {@code StepListener}: an entity registered with {@code World.addStepListener} as well would be
+ * updated twice per step, so there is no way to register one.
+ */
+public interface Updatable {
+    /**
+     * Updates the entity before the physics step.
+     *
+     * @param e The step event.
+     */
+    void update(StepEvent e);
+
+    /**
+     * Updates the entity after the physics step.
+     *
+     * @param e The step event.
+     */
+    void afterStep(StepEvent e);
+}
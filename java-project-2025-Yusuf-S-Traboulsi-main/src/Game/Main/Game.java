@@ -1,35 +1,47 @@
 package game.main;
 
-import city.cs.engine.StepEvent;
-import city.cs.engine.StepListener;
-import game.characters.enemies.Snail;
+import game.assets.AssetPreloader;
+import game.assets.AssetRegistry;
 import game.characters.enemies.Fly;
-import game.collectibles.Coin;
+import game.characters.enemies.Snail;
 import game.collectibles.HealthCollectible;
+import game.controls.InputAction;
 import game.controls.PlayerController;
+import game.levelLoader.Door;
 import game.levelLoader.GameView;
 import game.levelLoader.GameWorld;
 import game.characters.Player;
-import game.platforms.Elevator;
-import game.platforms.Ground;
-import game.platforms.Trampoline;
-import org.jbox2d.common.Vec2;
-import game.levelLoader.Door;
-import game.platforms.FallingSpike;
-import game.platforms.MoveFallingSpike;
+import game.levelLoader.Level;
+import game.levelLoader.LevelLoader;
 import game.controls.PauseControl;
 import game.controls.BackgroundMusicManager;
+import game.hud.Timer;
+import game.metrics.Metrics;
+import game.platforms.Trampoline;
+import game.rendering.BackgroundCache;
+import game.rendering.SpriteAtlas;
+import game.replay.InputRecording;
+import game.simulation.SimulationThread;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * The main class for the game "Tamaros's Adventure: The Invincible Jump".
@@ -38,6 +50,21 @@ import java.util.Objects;
 
 
 public class Game {
+    /**
+     * The system property naming the file the session's input recording is saved to.
+     * Recordings are only saved when it is set, e.g. {@code -Dgame.recording=run.rec}.
+     */
+    public static final String RECORDING_PROPERTY = "game.recording";
+    /**
+     * The system property that starts the game full screen, e.g. {@code -Dgame.fullscreen=true}.
+     * F11 switches between full screen and a window while playing.
+     */
+    public static final String FULLSCREEN_PROPERTY = "game.fullscreen";
+
+    /**
+     * The background image of the end credits.
+     */
+    private static final String END_SCREEN_BACKGROUND = "/game/resources/background/EndScreen.png";
 
     /**
      * The main game window.
@@ -54,6 +81,17 @@ public class Game {
      */
     private GameWorld world;
 
+    /**
+     * The thread stepping the current game world.
+     * Volatile because the simulation thread reads it when the level ends.
+     */
+    private volatile SimulationThread simulation;
+
+    /**
+     * The inputs of the current session, for replaying it with {@code ReplayEngine}.
+     */
+    private InputRecording recording;
+
     /**
      * The view for rendering the game world.
      */
@@ -74,6 +112,11 @@ public class Game {
      */
     private int currentLevelIndex = 0;
 
+    /**
+     * The asset scope of the level being played, or {@code null} before the first level is loaded.
+     */
+    private String levelScope;
+
     /**
      * The start time of the game in milliseconds.
      */
@@ -105,6 +148,51 @@ public class Game {
      */
     private JLabel lostLabel;
 
+    /**
+     * The controls hint shown at the start of the first level.
+     */
+    private JLabel messageLabel;
+
+    /**
+     * Hides {@link #messageLabel} a while after the first level starts.
+     */
+    private javax.swing.Timer messageTimer;
+
+    /**
+     * Hands the player's key presses to the current level's simulation.
+     */
+    private PlayerController playerController;
+
+    /**
+     * Builds the next level in the background while the current one is played.
+     */
+    private final ExecutorService levelBuilder = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "level-builder");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY); // Yields to the simulation and render threads
+        return thread;
+    });
+
+    /**
+     * The next level being built in the background, or {@code null} if none is.
+     */
+    private CompletableFuture<PreparedLevel> nextLevel;
+
+    /**
+     * The index of the level {@link #nextLevel} is building.
+     */
+    private int nextLevelIndex;
+
+    /**
+     * A level's world and its simulation thread, built but not yet started.
+     *
+     * @param world      The level's world.
+     * @param simulation The thread that will step the world.
+     * @param background The level's background, scaled to the window when the level was built.
+     */
+    private record PreparedLevel(GameWorld world, SimulationThread simulation, BackgroundCache background) {
+    }
+
     /**
      * Constructs a new Game instance and initializes the game.
      */
@@ -128,13 +216,28 @@ public class Game {
     private void initialiseGame() {
         frame = new JFrame("Tamaros's Adventure: The Invincible Jump");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setResizable(false);
-        frame.setSize(800, 600);
+        frame.setResizable(true);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                saveRecording();
+                if (Metrics.isEnabled()) {
+                    Metrics.print(System.out); // Where the session's steps and frames spent their time
+                    AssetRegistry.printStats(System.out);
+                }
+            }
+        });
 
         mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setPreferredSize(new Dimension(GameView.DESIGN_WIDTH, GameView.DESIGN_HEIGHT));
         frame.add(mainPanel);
+        frame.pack(); // The window's inside, not its frame, is the designed size
         frame.setVisible(true);
+        if (Boolean.getBoolean(FULLSCREEN_PROPERTY)) {
+            toggleFullscreen();
+        }
 
+        setupLevels(); // Read once; the level files are only turned into worlds when each level starts
         showMainMenu();
     }
 
@@ -142,9 +245,11 @@ public class Game {
      * Displays the main menu of the game.
      */
     private void showMainMenu() {
-        // Load the background image
-        ImageIcon backgroundIcon = new ImageIcon(getClass().getResource("/game/resources/background/level1_background.png"));
-        Image backgroundImage = backgroundIcon.getImage();
+        // Load the background image; it is also the first level's, so that level finds it already decoded
+        Level first = levels.isEmpty() ? null : levels.get(0);
+        Image backgroundImage = first != null && first.getBackground() != null
+                ? AssetRegistry.image(first.getBackground(), first.getName())
+                : null;
 
         // Custom panel to draw the background
         JPanel menu = new JPanel(new GridBagLayout()) {
@@ -173,76 +278,119 @@ public class Game {
         startButton.addActionListener(e -> startGame());
         menu.add(startButton, gbc);
 
+        gbc.gridy = 2;
+        JProgressBar loading = new JProgressBar();
+        loading.setPreferredSize(new Dimension(150, 8));
+        menu.add(loading, gbc);
+        preloadAssets(loading);
+
         mainPanel.removeAll();
         mainPanel.add(menu, BorderLayout.CENTER);
         mainPanel.revalidate();
         mainPanel.repaint();
+
+        // Build the first level while the menu is shown, so Start Game only has to swap it in
+        buildAhead(0);
+    }
+
+    /**
+     * Warms the assets of every level in the background while the menu is shown, so starting the game and
+     * moving to the next level do not stop to decode images or open sound clips.
+     * Starting before it has finished is safe; whatever is not ready yet is loaded when it is needed.
+     *
+     * @param progress The bar showing how much has been warmed. It is hidden once everything has.
+     */
+    private void preloadAssets(JProgressBar progress) {
+        AssetPreloader preloader = new AssetPreloader()
+                .initialise(SpriteAtlas.class, GameView.class, Timer.class); // Sprite sheets and HUD glyphs
+        for (Level level : levels.subList(Math.min(1, levels.size()), levels.size())) {
+            if (level.getBackground() != null) {
+                preloader.image(level.getBackground(), level.getName());
+            }
+        }
+        preloader.image(END_SCREEN_BACKGROUND, AssetRegistry.SHARED)
+                .initialise(Fly.class, Snail.class, Trampoline.class, HealthCollectible.class); // Sound clip pools
+        progress.setMaximum(preloader.getTotal());
+        preloader.start((finished, total) -> SwingUtilities.invokeLater(() -> {
+            progress.setValue(finished);
+            progress.setVisible(finished < total);
+        }));
     }
 
     /**
      * Starts the game by resetting stats, setting up levels, and loading the first level.
      */
     private void startGame() {
+        if (levels.isEmpty()) {
+            System.err.println("No levels to play; check " + LevelLoader.DIRECTORY + LevelLoader.INDEX);
+            return;
+        }
         // reset saved stats
         savedHealth = 6;
         savedCoins = 0;
         startTime = System.currentTimeMillis();
         currentLevelIndex = 0;
+        recording = new InputRecording();
 
-        setupLevels();
         loadCurrentLevel();
+    }
 
-        // Reset via R in view
-        view.addKeyListener(new KeyAdapter() {
-            @Override
-            public void keyPressed(KeyEvent e) {
-                if (e.getKeyCode() == KeyEvent.VK_R) {
-                    resetGame();
-                }
-            }
-        });
+    /**
+     * Sizes the view to the level's pane and places the overlays relative to its size,
+     * where they sit in the designed 800 by 600 view.
+     */
+    private void layoutLevel() {
+        int width = layeredPane.getWidth();
+        int height = layeredPane.getHeight();
+        view.setBounds(0, 0, width, height);
+        // Along the top while playing, under the Game Over label once the player has lost
+        resetButton.setLocation((width - resetButton.getWidth()) / 2, lostLabel.isVisible() ? height / 2 : 10);
+        lostLabel.setLocation((width - lostLabel.getWidth()) / 2, height / 2 - 50);
+        messageLabel.setLocation(width / 2 - 150, height / 2 - 50);
+    }
+
+    /**
+     * Switches the window between full screen and a normal window. Where the screen does not support
+     * full screen, the window is instead made to cover it.
+     */
+    private void toggleFullscreen() {
+        GraphicsDevice screen = frame.getGraphicsConfiguration().getDevice();
+        screen.setFullScreenWindow(screen.getFullScreenWindow() == frame ? null : frame);
+        frame.requestFocus();
+        if (view != null) {
+            view.requestFocusInWindow();
+        }
     }
 
     /**
      * Freezes the game when the player loses.
+     * May be called from the simulation thread; the UI is updated on the Swing event thread.
      */
     public void freezeGame() {
-        world.stop(); // Stop the physics simulation
-        resetButton.setVisible(true); // Show the reset button
-        BackgroundMusicManager.stopMusic();
+        simulation.shutdown(); // Stop the physics simulation
+        SwingUtilities.invokeLater(() -> {
+            resetButton.setVisible(true); // Show the reset button
+            BackgroundMusicManager.stopMusic();
+        });
     }
 
     /**
-     * Sets up the levels for the game.
+     * Sets up the levels for the game from the level files listed in the level index.
      */
     private void setupLevels() {
-        levels = new ArrayList<>();
-        levels.add(new Level1(this));
-        levels.add(new Level2(this));
-        levels.add(new Level3(this));
+        levels = LevelLoader.loadAll(this);
     }
 
     /**
-     * Loads the current level based on the `currentLevelIndex`.
+     * Builds the game screen: the view, its key listeners, the HUD overlays and the reset and game-over UI.
+     * Built once, for the first level loaded; every later level and reset is shown on the same components.
      */
-    private void loadCurrentLevel() {
-        if (world != null) {
-            world.stop();
-        }
-
+    private void buildGameScreen() {
         layeredPane = new JLayeredPane();
-        layeredPane.setPreferredSize(new Dimension(800, 600));
-
-        Level lvl = levels.get(currentLevelIndex);
-        world = lvl.createWorld();
-        player = world.getPlayer();
-
-        // Restore stats
-        player.setHealth(savedHealth);
-        player.setScore(savedCoins);
+        layeredPane.setPreferredSize(new Dimension(GameView.DESIGN_WIDTH, GameView.DESIGN_HEIGHT));
 
-        view = new GameView(world, 800, 600, player);
-        view.setBounds(0, 0, 800, 600);
+        view = new GameView(world, GameView.DESIGN_WIDTH, GameView.DESIGN_HEIGHT, player);
+        view.setBounds(0, 0, GameView.DESIGN_WIDTH, GameView.DESIGN_HEIGHT);
         view.setFocusable(true);
 
         // Add KeyListener for resetting the game with the R key
@@ -251,103 +399,306 @@ public class Game {
             public void keyPressed(KeyEvent e) {
                 if (e.getKeyCode() == KeyEvent.VK_R) {
                     resetGame();
+                } else if (e.getKeyCode() == KeyEvent.VK_F11) {
+                    toggleFullscreen();
                 }
             }
         });
 
-        // Set the background for the current level
-        if (currentLevelIndex == 0) {
-            view.loadBackgroundImage("/game/resources/background/level1_background.png");
-        } else if (currentLevelIndex == 1) {
-            view.loadBackgroundImage("/game/resources/background/level2_background.png");
-        } else if (currentLevelIndex == 2) {
-            view.loadBackgroundImage("/game/resources/background/level3_background.png");
-        }
-
-        // Add temporary message for Level 1
-        if (currentLevelIndex == 0) {
-            JLabel messageLabel = new JLabel("Press P to pause, R to reset", SwingConstants.LEFT);
-            messageLabel.setFont(new Font("Arial", Font.BOLD, 18));
-            messageLabel.setForeground(Color.BLACK);
-            messageLabel.setBounds(250, 250, 400, 30); // Positioned on the left in the center
-            layeredPane.add(messageLabel, JLayeredPane.PALETTE_LAYER);
-
-            // Hide the message after 10 seconds
-            new javax.swing.Timer(10000, e -> layeredPane.remove(messageLabel)).start();
-        }
-
         // Attach controls
-        view.addKeyListener(new PlayerController(player));
+        playerController = new PlayerController(simulation);
+        view.addKeyListener(playerController);
         view.addKeyListener(new PauseControl(view)); // Attach the PauseController
 
         layeredPane.add(view, JLayeredPane.DEFAULT_LAYER);
 
+        // Temporary message for Level 1
+        messageLabel = new JLabel("Press P to pause, R to reset", SwingConstants.LEFT);
+        messageLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        messageLabel.setForeground(Color.BLACK);
+        messageLabel.setBounds(250, 250, 400, 30); // Positioned on the left in the center
+        layeredPane.add(messageLabel, JLayeredPane.PALETTE_LAYER);
+        messageTimer = new javax.swing.Timer(10000, e -> messageLabel.setVisible(false)); // Hidden after 10 seconds
+        messageTimer.setRepeats(false);
+
         // Reset and Lost UI
         resetButton = new JButton("Reset");
-        resetButton.setBounds(350, 10, 100, 30);
         resetButton.addActionListener(e -> resetGame());
-        resetButton.setVisible(false);
         layeredPane.add(resetButton, JLayeredPane.PALETTE_LAYER);
 
         lostLabel = new JLabel("Game Over", SwingConstants.CENTER);
         lostLabel.setFont(new Font("Serif", Font.BOLD, 32));
         lostLabel.setBounds(250, 250, 300, 50);
-        lostLabel.setVisible(false);
         layeredPane.add(lostLabel, JLayeredPane.PALETTE_LAYER);
 
-        mainPanel.removeAll();
-        mainPanel.add(layeredPane, BorderLayout.CENTER);
-        mainPanel.revalidate();
+        // Keep the view filling the window and the overlays where they were as the window is resized
+        layeredPane.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                layoutLevel();
+            }
+        });
+    }
+
+    /**
+     * Loads the current level based on the `currentLevelIndex`.
+     * The level's world, player and simulation are bound to the game screen, which is only built the first time.
+     */
+    private void loadCurrentLevel() {
+        if (simulation != null) {
+            simulation.shutdownAndWait(); // The old level must not step again once the next one is recording
+        }
+
+        Level lvl = levels.get(currentLevelIndex);
+        String scope = lvl.getName();
+        PreparedLevel prepared = takePreparedLevel(currentLevelIndex);
+        if (prepared == null) {
+            // Not built ahead, as after a reset
+            prepared = prepareLevel(currentLevelIndex, mainPanel.getGraphicsConfiguration(),
+                    mainPanel.getWidth(), mainPanel.getHeight());
+        }
+        world = prepared.world();
+        player = world.getPlayer();
+
+        // Restore stats
+        player.setHealth(savedHealth);
+        player.setScore(savedCoins);
+
+        // Step the world on its own thread; the view presents the snapshots it publishes at its own frame rate
+        simulation = prepared.simulation();
+        simulation.setRecording(recording);
+
+        if (view == null) {
+            buildGameScreen();
+        } else {
+            view.setWorld(world);
+            view.setPlayer(player);
+        }
+        view.setSimulation(simulation);
+        playerController.setSimulation(simulation);
+
+        // Set the background for the current level, already scaled to the window
+        view.useBackground(lvl.getBackground() != null ? prepared.background() : null);
+
+        // Release what only the previous level used; a reset keeps the same scope and its images.
+        // Done on the builder thread, so the swap does not wait for it, and before the build queued next claims any
+        if (levelScope != null && !levelScope.equals(scope)) {
+            String finished = levelScope;
+            levelBuilder.execute(() -> AssetRegistry.evict(finished));
+        }
+        levelScope = scope;
+
+        // Show the controls hint at the start of the first level only
+        messageLabel.setVisible(currentLevelIndex == 0);
+        if (currentLevelIndex == 0) {
+            messageTimer.restart();
+        } else {
+            messageTimer.stop();
+        }
+
+        // Put the reset and game-over UI back as it is while playing, in case the last level was lost
+        lostLabel.setVisible(false);
+        resetButton.setVisible(false);
+        resetButton.setSize(100, 30);
+        resetButton.setBackground(UIManager.getColor("Button.background"));
+        resetButton.setForeground(UIManager.getColor("Button.foreground"));
+
+        // Only swapped in when coming from another screen; between levels the same screen stays up
+        if (layeredPane.getParent() != mainPanel) {
+            mainPanel.removeAll();
+            mainPanel.add(layeredPane, BorderLayout.CENTER);
+            mainPanel.revalidate();
+        }
+        if (layeredPane.getWidth() > 0) {
+            layoutLevel(); // Otherwise it is laid out when the pane is first sized
+        }
         mainPanel.repaint();
 
         view.requestFocusInWindow();
 
-        world.start();
-        world.addStepListener(new StepListener() {
-            @Override
-            public void preStep(StepEvent e) {
+        simulation.start();
+
+        // Build the level after this one while this one is played, so reaching the door swaps it straight in
+        buildAhead(currentLevelIndex + 1);
+    }
+
+    /**
+     * Starts building a level on the level builder thread, sized to the window as it is now,
+     * unless it is already being built or there is no such level. Any other level being built is dropped.
+     *
+     * @param index The index of the level to build.
+     */
+    private void buildAhead(int index) {
+        if (index >= levels.size() || (nextLevel != null && nextLevelIndex == index)) {
+            return;
+        }
+        if (nextLevel != null) {
+            dropPreparedLevel();
+        }
+        GraphicsConfiguration config = mainPanel.getGraphicsConfiguration();
+        int width = mainPanel.getWidth();
+        int height = mainPanel.getHeight();
+        nextLevelIndex = index;
+        nextLevel = CompletableFuture.supplyAsync(() -> prepareLevel(index, config, width, height), levelBuilder);
+    }
+
+    /**
+     * Builds a level's world and the simulation thread that will step it, without starting either,
+     * and scales its background to the window.
+     * Runs on the level builder thread for the next level, or on the Swing event thread if it was not built ahead.
+     * If the build fails, the images it claimed in the level's scope are released before the failure is passed on.
+     *
+     * @param index  The index of the level.
+     * @param config The window's graphics configuration, or {@code null} if it is not on screen.
+     * @param width  The width of the window's content.
+     * @param height The height of the window's content.
+     * @return The level, ready to be shown.
+     */
+    private PreparedLevel prepareLevel(int index, GraphicsConfiguration config, int width, int height) {
+        Level level = levels.get(index);
+        try {
+            return buildLevel(level, config, width, height);
+        } catch (RuntimeException | Error e) {
+            AssetRegistry.evict(level.getName()); // Nothing will draw the half-built level
+            throw e;
+        }
+    }
+
+    /**
+     * Builds a level's world and simulation thread and scales its background, for {@link #prepareLevel}.
+     *
+     * @param level  The level.
+     * @param config The window's graphics configuration, or {@code null} if it is not on screen.
+     * @param width  The width of the window's content.
+     * @param height The height of the window's content.
+     * @return The level, ready to be shown.
+     */
+    private PreparedLevel buildLevel(Level level, GraphicsConfiguration config, int width, int height) {
+        GameWorld levelWorld;
+        BackgroundCache background = new BackgroundCache();
+        AssetRegistry.Scope scope = AssetRegistry.enter(level.getName()); // Claims the images this level loads
+        try {
+            levelWorld = level.createWorld();
+            if (level.getBackground() != null) {
+                background.setImage(level.getBackground());
             }
+        } finally {
+            scope.close();
+        }
+        background.get(config, width, height);
+        Player levelPlayer = levelWorld.getPlayer();
+        Door door = levelWorld.getDoor();
+        // Constructing the thread captures the first snapshot, which draws the level's static layer here too
+        SimulationThread levelSimulation = new SimulationThread(levelWorld,
+                stepped -> checkLevelOver(stepped, levelPlayer, door));
+        return new PreparedLevel(levelWorld, levelSimulation, background);
+    }
 
-            @Override
-            public void postStep(StepEvent e) {
-                view.updateCamera();
-                view.repaint();
-                checkPlayerLost();
+    /**
+     * Takes the level built ahead in the background, waiting for it to finish if it has not yet.
+     * A level being built that is not wanted now, nor straight after, as after a reset, is dropped.
+     *
+     * @param index The index of the level wanted.
+     * @return The built level, or {@code null} if that level was not being built or its build failed.
+     */
+    private PreparedLevel takePreparedLevel(int index) {
+        if (nextLevel == null) {
+            return null;
+        }
+        if (nextLevelIndex != index) {
+            if (nextLevelIndex != index + 1) {
+                dropPreparedLevel();
             }
-        });
+            return null;
+        }
+        CompletableFuture<PreparedLevel> built = nextLevel;
+        nextLevel = null;
+        try {
+            return built.join();
+        } catch (CompletionException e) {
+            // The failed build has already released what it claimed; the caller builds the level again
+            System.err.println("Error building level in the background: " + e.getCause());
+            return null;
+        }
     }
 
     /**
-     * Loads the next level in the game. If all levels are completed, shows the end credits.
+     * Drops the level being built ahead. Its build is left to finish, and the images it claimed are then released,
+     * whether it succeeded or not.
+     * The builder has one thread, so they are released before any later build of the same level claims them again.
      */
-    public void loadNextLevel() {
-        // snapshot stats
-        savedHealth = player.getHealth();
-        savedCoins = player.getScore();
-        currentLevelIndex++;
-        if (currentLevelIndex < levels.size()) {
-            loadCurrentLevel();
+    private void dropPreparedLevel() {
+        String scope = levels.get(nextLevelIndex).getName();
+        nextLevel.whenComplete((dropped, error) -> AssetRegistry.evict(scope)); // Also if the build failed
+        nextLevel = null;
+    }
+
+    /**
+     * Ends the level after a step in which the player reached the door or lost.
+     * Runs on the simulation thread after each step.
+     *
+     * @param levelSimulation The simulation thread that took the step.
+     * @param levelPlayer     The player of the world that was stepped.
+     * @param door            The level's door, or {@code null} if it has none.
+     */
+    private void checkLevelOver(SimulationThread levelSimulation, Player levelPlayer, Door door) {
+        if (door != null && door.isReached()) {
+            loadNextLevel(levelSimulation, levelPlayer);
         } else {
-            showEndCredits();
+            checkPlayerLost(levelSimulation, levelPlayer);
         }
     }
 
     /**
-     * Checks if the player has lost the game and handles the game-over state.
+     * Loads the next level in the game. If all levels are completed, shows the end credits.
+     * Called from the simulation thread at the end of the step in which the player reached the door;
+     * the level is swapped on the Swing event thread.
+     *
+     * @param finished    The simulation thread of the level that was completed.
+     * @param levelPlayer The player of the completed level.
      */
-    private void checkPlayerLost() {
-        if (player.hasLost()) {
-            world.stop();
-            lostLabel.setVisible(true);
+    private void loadNextLevel(SimulationThread finished, Player levelPlayer) {
+        finished.shutdown();
 
-            // Center the reset button
-            resetButton.setBounds(325, 300, 150, 40); // Centered horizontally and vertically
-            resetButton.setBackground(new Color(0, 128, 0)); // Set green background
-            resetButton.setForeground(Color.WHITE); // Optional: Set text color to white for contrast
-            resetButton.setVisible(true);
+        // snapshot stats
+        savedHealth = levelPlayer.getHealth();
+        savedCoins = levelPlayer.getScore();
+        SwingUtilities.invokeLater(() -> {
+            if (finished != simulation) {
+                return; // The game was reset before the transition ran
+            }
+            currentLevelIndex++;
+            if (currentLevelIndex < levels.size()) {
+                loadCurrentLevel();
+            } else {
+                showEndCredits();
+            }
+        });
+    }
 
-            BackgroundMusicManager.stopMusic();
-            playTromboneSound();
+    /**
+     * Checks if the player has lost the game and handles the game-over state.
+     * Runs on the simulation thread after each step.
+     *
+     * @param levelSimulation The simulation thread that took the step.
+     * @param levelPlayer     The player of the world that was stepped.
+     */
+    private void checkPlayerLost(SimulationThread levelSimulation, Player levelPlayer) {
+        if (levelPlayer.hasLost()) {
+            levelSimulation.shutdown();
+            SwingUtilities.invokeLater(() -> {
+                // Center the reset button
+                resetButton.setSize(150, 40);
+                lostLabel.setVisible(true);
+                layoutLevel(); // Centers the reset button under the label
+                resetButton.setBackground(new Color(0, 128, 0)); // Set green background
+                resetButton.setForeground(Color.WHITE); // Optional: Set text color to white for contrast
+                resetButton.setVisible(true);
+
+                BackgroundMusicManager.stopMusic();
+                playTromboneSound();
+                saveRecording();
+            });
         }
     }
 
@@ -355,6 +706,10 @@ public class Game {
      * Resets the game to the first level and restores initial stats.
      */
     private void resetGame() {
+        // Log the reset once the current level has stopped stepping
+        simulation.shutdownAndWait();
+        recording.record(InputAction.RESET);
+
         // Reset stats for the game
         savedHealth = 6;
         savedCoins = 0;
@@ -374,14 +729,14 @@ public class Game {
      * Displays the end credits when the game is completed.
      */
     private void showEndCredits() {
+        saveRecording();
         BackgroundMusicManager.stopMusic();
         playEndScreenMusic();
         long totalTime = System.currentTimeMillis() - startTime;
         int score = player.getScore();
 
         // Load the background image
-        ImageIcon backgroundIcon = new ImageIcon(getClass().getResource("/game/resources/background/EndScreen.png"));
-        Image backgroundImage = backgroundIcon.getImage();
+        Image backgroundImage = AssetRegistry.image(END_SCREEN_BACKGROUND, AssetRegistry.SHARED);
 
         // Custom panel to draw the background
         JPanel credits = new JPanel(null) {
@@ -424,12 +779,37 @@ public class Game {
         });
         credits.add(resetButton);
 
+        // The credits are laid out for an 800 pixel window; keep them centred in any other width
+        credits.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                for (Component label : credits.getComponents()) {
+                    label.setLocation((credits.getWidth() - label.getWidth()) / 2, label.getY());
+                }
+            }
+        });
+
         mainPanel.removeAll();
         mainPanel.add(credits, BorderLayout.CENTER);
         mainPanel.revalidate();
         mainPanel.repaint();
     }
 
+    /**
+     * Saves the session's input recording to the file named by {@link #RECORDING_PROPERTY}, if set.
+     */
+    private void saveRecording() {
+        String path = System.getProperty(RECORDING_PROPERTY);
+        if (path == null || recording == null) {
+            return;
+        }
+        try {
+            recording.save(Path.of(path));
+        } catch (IOException e) {
+            System.err.println("Error saving input recording: " + e.getMessage());
+        }
+    }
+
     /**
      * Plays the end screen music.
      */
@@ -471,230 +851,4 @@ public class Game {
             System.err.println("Error playing trombone sound: " + e.getMessage());
         }
     }
-
-    /**
-     * Interface for defining levels in the game.
-     */
-    private interface Level {
-        /**
-         * Creates the game world for the level.
-         *
-         * @return The created game world.
-         */
-        GameWorld createWorld();
-    }
-
-    /**
-     * Represents Level 1 of the game.
-     */
-    private static class Level1 implements Level {
-        private final Game game;
-
-        /**
-         * Constructs Level 1 with a reference to the main game.
-         *
-         * @param game The main game instance.
-         */
-        Level1(Game game) {
-            this.game = game;
-        }
-
-        @Override
-        public GameWorld createWorld() {
-            GameWorld world = new GameWorld(game);
-
-            // Start player in a safe position
-            world.getPlayer().setPosition(new Vec2(-14, -8));
-
-            // Basic ground platform
-            new Ground(world, 0, -10, 20, 1f);
-
-            // Introduce trampoline
-            new Trampoline(world).setPosition(new Vec2(-10, -9f));
-
-            // Introduce falling spike
-            new FallingSpike(world, 4, 10, world.getPlayer());
-
-            // Introduce moving falling spike
-            new MoveFallingSpike(world, -10, 0f, 10f, 2f);
-
-            // Simple platform arrangement
-            new Ground(world, -4, -7, 2, 0.5f);
-            new Ground(world, 4, -5, 3, 0.5f);
-
-            // Basic coin placement for teaching collection
-            new Coin(world).setPosition(new Vec2(-4, -6));
-            new Coin(world).setPosition(new Vec2(4, -4));
-
-            // Add a health collectible on top of the trampoline
-            HealthCollectible healthCollectible = new HealthCollectible(world);
-            healthCollectible.setPosition(new Vec2(-10, -7.5f)); // Set position for the collectible
-
-            // Single enemy for teaching combat
-            new Snail(world, 0, -8f, world.getPlayer(), game);
-
-            // Introduce flying enemy
-            new Fly(world, -2, -1, -4, 0, world.getPlayer(), game);
-
-            // Door at an easy-to-reach location
-            Door door = new Door(world, game);
-            door.setPosition(new Vec2(14, -8));
-            world.setDoor(door);
-
-            return world;
-        }
-    }
-
-
-    /**
-     * Represents Level 2 of the game.
-     */
-    private static class Level2 implements Level {
-        private final Game game;
-
-        /**
-         * Constructs Level 2 with a reference to the main game.
-         *
-         * @param game The main game instance.
-         */
-        Level2(Game game) {
-            this.game = game;
-        }
-
-        @Override
-        public GameWorld createWorld() {
-            GameWorld world = new GameWorld(game);
-            world.getPlayer().setPosition(new Vec2(-25, -8));
-
-            // Single long ground section
-            new Ground(world, 2, -10, 32, 1);
-
-            // Platforms
-            new Ground(world, -8, 0, 2, 0.5f);
-            new Ground(world, 8, 2, 2, 0.5f);
-            new Ground(world, 20, 4, 2, 0.5f);
-
-            // Falling spikes
-            new FallingSpike(world, -13, 5, world.getPlayer());
-            new FallingSpike(world, 0, 6, world.getPlayer());
-            new FallingSpike(world, 11, 7, world.getPlayer());
-
-            // Moving falling spikes
-            new MoveFallingSpike(world, -8, 2, 8, 2f);
-            new MoveFallingSpike(world, 8, 4, 12, 2.5f);
-
-            // Elevators
-            Elevator elev1 = new Elevator(world, -4, -8, 4, 3f);
-            elev1.setPosition(new Vec2(-4, -8));
-
-            Elevator elev2 = new Elevator(world, 4, -6, 4, 3f);
-            elev2.setPosition(new Vec2(4, -6));
-
-            Elevator elev3 = new Elevator(world, 16, -4, 4, 3f);
-            elev3.setPosition(new Vec2(16, -4));
-
-            // Trampolines
-            new Trampoline(world).setPosition(new Vec2(-8, -9));
-            new Trampoline(world).setPosition(new Vec2(8, -9));
-            new Trampoline(world).setPosition(new Vec2(22, -9));
-
-            // Snails on the ground
-            new Snail(world, -15, -9, world.getPlayer(), game); // On the first ground section
-            new Snail(world, 0, -9, world.getPlayer(), game);   // On the second ground section
-            new Snail(world, 15, -9, world.getPlayer(), game);  // On the third ground section
-            new Snail(world, 30, -9, world.getPlayer(), game);  // On the fourth ground section
-
-
-            // Adding fly enemies
-            new Fly(world, -18, 2, -8, 0, world.getPlayer(), game);
-            new Fly(world, 10, 6, 8, 4, world.getPlayer(), game);
-
-            // Coins
-            new Coin(world).setPosition(new Vec2(-8, 1));
-            new Coin(world).setPosition(new Vec2(8, 3));
-
-            // Door
-            Door door = new Door(world, game);
-            door.setPosition(new Vec2(24, 6));
-            world.setDoor(door);
-
-            return world;
-        }
-    }
-
-
-    /**
-     * Represents Level 3 of the game.
-     */
-    private static class Level3 implements Level {
-        private final Game game;
-
-        /**
-         * Constructs Level 3 with a reference to the main game.
-         *
-         * @param game The main game instance.
-         */
-        Level3(Game game) {
-            this.game = game;
-        }
-
-        @Override
-        public GameWorld createWorld() {
-            GameWorld world = new GameWorld(game);
-            world.getPlayer().setPosition(new Vec2(-17, -8));
-
-            // Ground sections
-            new Ground(world, -14, -10, 8, 1);
-            new Ground(world, 2, -10, 8, 1);
-            new Ground(world, 16, -10, 8, 1);
-
-            // Platforms
-            new Ground(world, -6, -8, 2, 0.5f);
-            new Ground(world, 4, -3, 2, 0.5f);
-            new Ground(world, 12, -6, 2, 0.5f);
-
-            // Falling spikes
-            new FallingSpike(world, -15, 5, world.getPlayer());
-            new FallingSpike(world, -4, 6, world.getPlayer());
-            new FallingSpike(world, 6, 7, world.getPlayer());
-            new FallingSpike(world, 14, 8, world.getPlayer());
-
-            // Moving falling spikes
-            new MoveFallingSpike(world, -12, -4, 5, 2f);
-            new MoveFallingSpike(world, 0, 4, 12, 2.5f);
-            new MoveFallingSpike(world, 8, 6, 16, 3f);
-
-            // Elevator
-            Elevator elevator = new Elevator(world, -2, -8, 4, 2f);
-            elevator.setPosition(new Vec2(-2, -8));
-
-            // Trampolines
-            new Trampoline(world).setPosition(new Vec2(8, -9));
-            new Trampoline(world).setPosition(new Vec2(16, -9));
-
-            // Enemies
-            new Snail(world, 2, -8f, world.getPlayer(), game);
-            new Snail(world, 12, -8f, world.getPlayer(), game);
-
-            // Adding fly enemies to Level 3
-            new Fly(world, -8, 3, -10, 1, world.getPlayer(), game);
-            new Fly(world, 14, 7, 12, 5, world.getPlayer(), game);
-
-            // Coins
-            new Coin(world).setPosition(new Vec2(-6, -4));
-            new Coin(world).setPosition(new Vec2(12, -5));
-
-            // Health collectible
-            HealthCollectible healthCollectible = new HealthCollectible(world);
-            healthCollectible.setPosition(new Vec2(4, -2));
-
-            // Door
-            Door door = new Door(world, game);
-            door.setPosition(new Vec2(20, -8));
-            world.setDoor(door);
-
-            return world;
-        }
-    }
-
-}
\ No newline at end of file
+}
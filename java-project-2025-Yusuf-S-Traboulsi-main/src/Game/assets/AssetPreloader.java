@@ -0,0 +1,115 @@
+package game.assets;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms assets on a small pool of background threads, so they are already decoded when the game asks for them.
+ * Images are decoded into the {@link AssetRegistry} in the scope they will be used in, and classes are
+ * initialised so the sound clips their static initialisers open are ready before the first body is made.
+ * <p>
+ * Nothing depends on the preloader finishing: anything asked for before it has been warmed is simply loaded
+ * by the caller, as it would be without a preloader.
+ */
+public final class AssetPreloader {
+    /**
+     * The most threads used, so warming never takes every core from the menu and the music.
+     */
+    private static final int MAX_THREADS = 4;
+
+    /**
+     * The work to do, in the order it is started.
+     */
+    private final List<Runnable> tasks = new ArrayList<>();
+    /**
+     * The number of tasks finished so far.
+     */
+    private final AtomicInteger finished = new AtomicInteger();
+
+    /**
+     * Receives the preloader's progress. Called on the thread that finished each task.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called each time a task finishes.
+         *
+         * @param finished The number of tasks finished so far.
+         * @param total    The number of tasks.
+         */
+        void progress(int finished, int total);
+    }
+
+    /**
+     * Adds an image to decode.
+     *
+     * @param path  The resource path of the image.
+     * @param scope The scope that will use the image, so it is evicted with that scope.
+     * @return This preloader, for chaining.
+     */
+    public AssetPreloader image(String path, String scope) {
+        tasks.add(() -> AssetRegistry.image(path, scope));
+        return this;
+    }
+
+    /**
+     * Adds classes to initialise, running their static initialisers.
+     *
+     * @param classes The classes to initialise.
+     * @return This preloader, for chaining.
+     */
+    public AssetPreloader initialise(Class<?>... classes) {
+        for (Class<?> type : classes) {
+            tasks.add(() -> {
+                try {
+                    // A class literal only loads the class; forName with initialize set runs its static block
+                    Class.forName(type.getName(), true, type.getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    System.err.println("Error preloading " + type.getName() + ": " + e.getMessage());
+                }
+            });
+        }
+        return this;
+    }
+
+    /**
+     * Gets the number of tasks added.
+     *
+     * @return The task count.
+     */
+    public int getTotal() {
+        return tasks.size();
+    }
+
+    /**
+     * Starts warming everything added, in the order it was added, and returns at once.
+     * The threads are daemons at low priority and end when the work is done.
+     *
+     * @param listener Told each time a task finishes.
+     */
+    public void start(ProgressListener listener) {
+        int total = tasks.size();
+        int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "asset-preloader");
+            thread.setDaemon(true); // Never keeps the game open
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        for (Runnable task : tasks) {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error preloading assets: " + e.getMessage());
+                } finally {
+                    listener.progress(finished.incrementAndGet(), total);
+                }
+            });
+        }
+        executor.shutdown(); // Runs what was queued, then lets the threads end
+    }
+}
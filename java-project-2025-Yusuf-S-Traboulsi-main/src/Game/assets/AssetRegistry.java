@@ -0,0 +1,252 @@
+package game.assets;
+
+import game.rendering.SpriteAtlas;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Holds every decoded image and sprite the game has loaded, keyed by resource path, so each is decoded once
+ * however many bodies, views and levels use it.
+ * <p>
+ * Each asset is claimed by the scopes it was requested in. A level's assets are loaded inside a scope named
+ * after the level, and {@link #evict(String)} drops the assets that only that level used once it is finished.
+ * Assets requested outside any level belong to {@link #SHARED}, which is never evicted.
+ * <p>
+ * Images handed out are shared between every caller and must be treated as read-only.
+ */
+public final class AssetRegistry {
+    /**
+     * The scope of assets requested outside any level.
+     */
+    public static final String SHARED = "shared";
+
+    /**
+     * The loaded assets by key.
+     */
+    private static final Map<String, Entry> assets = new ConcurrentHashMap<>();
+    /**
+     * The scope that assets requested on each thread are claimed by.
+     */
+    private static final ThreadLocal<String> currentScope = ThreadLocal.withInitial(() -> SHARED);
+    /**
+     * The number of requests answered from the registry.
+     */
+    private static final AtomicLong hits = new AtomicLong();
+    /**
+     * The number of requests that had to load the asset.
+     */
+    private static final AtomicLong misses = new AtomicLong();
+
+    private AssetRegistry() {
+    }
+
+    /**
+     * A loaded asset and the scopes that have claimed it.
+     */
+    private static final class Entry {
+        /**
+         * The asset.
+         */
+        private final Object value;
+        /**
+         * The scopes the asset has been requested in.
+         * Only changed inside the map's {@code compute} calls for the entry's key, which the map runs one at a time.
+         */
+        private final Set<String> scopes = new HashSet<>();
+
+        private Entry(Object value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Makes assets requested on this thread belong to a scope until the returned handle is closed.
+     * Used as {@code Scope scope = AssetRegistry.enter("level1"); try { ... } finally { scope.close(); }}.
+     *
+     * @param scope The scope, usually the name of the level being built.
+     * @return A handle that restores the previous scope when closed.
+     */
+    public static Scope enter(String scope) {
+        String previous = currentScope.get();
+        currentScope.set(scope);
+        return () -> currentScope.set(previous);
+    }
+
+    /**
+     * Gets the scope that assets requested on this thread are claimed by.
+     *
+     * @return The current scope, {@link #SHARED} outside any level.
+     */
+    public static String currentScope() {
+        return currentScope.get();
+    }
+
+    /**
+     * Gets a decoded image, claimed by the current scope.
+     *
+     * @param path The resource path of the image.
+     * @return The shared image, or {@code null} if it could not be loaded.
+     */
+    public static BufferedImage image(String path) {
+        return image(path, currentScope());
+    }
+
+    /**
+     * Gets a decoded image, claimed by a given scope.
+     * Images packed into the sprite sheet are views of the sheet rather than separate copies.
+     *
+     * @param path  The resource path of the image.
+     * @param scope The scope that claims the image.
+     * @return The shared image, or {@code null} if it could not be loaded.
+     */
+    public static BufferedImage image(String path, String scope) {
+        return get(path, scope, AssetRegistry::decode);
+    }
+
+    /**
+     * Gets an asset, loading it the first time it is asked for.
+     * Failures are not remembered, so a missing asset is tried again on the next request.
+     *
+     * @param key    The asset's key, unique across every kind of asset.
+     * @param scope  The scope that claims the asset.
+     * @param loader Loads the asset from its key, returning {@code null} if it cannot be loaded.
+     * @param <T>    The type of the asset.
+     * @return The shared asset, or {@code null} if it could not be loaded.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(String key, String scope, Function<String, T> loader) {
+        // Claimed in the same atomic update that finds the entry, so an eviction cannot drop it in between
+        Entry entry = assets.computeIfPresent(key, (k, held) -> claim(held, scope));
+        if (entry != null) {
+            hits.incrementAndGet();
+            return (T) entry.value;
+        }
+        misses.incrementAndGet();
+        // Loaded outside the map so a loader may itself ask for other assets
+        T value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+        // Another thread may have loaded it meanwhile; the first one stored is kept
+        entry = assets.compute(key, (k, held) -> claim(held != null ? held : new Entry(value), scope));
+        return (T) entry.value;
+    }
+
+    /**
+     * Adds a scope's claim to an entry. Only called from the map's atomic updates.
+     *
+     * @param entry The entry.
+     * @param scope The scope claiming it.
+     * @return The entry.
+     */
+    private static Entry claim(Entry entry, String scope) {
+        entry.scopes.add(scope);
+        return entry;
+    }
+
+    /**
+     * Drops a scope's claim on its assets, removing those no other scope has asked for.
+     * Bodies that already hold an evicted asset keep working; it is only loaded again if asked for.
+     *
+     * @param scope The scope to evict. {@link #SHARED} is never evicted.
+     * @return The number of assets removed.
+     */
+    public static int evict(String scope) {
+        if (SHARED.equals(scope)) {
+            return 0;
+        }
+        int removed = 0;
+        for (String key : assets.keySet()) {
+            // Each entry is released atomically, so a claim being added to it at the same time is never lost
+            Entry kept = assets.computeIfPresent(key,
+                    (k, entry) -> entry.scopes.remove(scope) && entry.scopes.isEmpty() ? null : entry);
+            if (kept == null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the number of requests answered from the registry.
+     *
+     * @return The hit count.
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of requests that had to load their asset.
+     *
+     * @return The miss count.
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of assets held.
+     *
+     * @return The asset count.
+     */
+    public static int size() {
+        return assets.size();
+    }
+
+    /**
+     * Prints how many assets are held and how often requests were answered without loading.
+     *
+     * @param out The stream to print to.
+     */
+    public static void printStats(PrintStream out) {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        out.printf("assets: %d held, %d requests, %d hits (%.0f%%), %d loads%n", assets.size(), total, hitCount,
+                total > 0 ? 100.0 * hitCount / total : 0, total - hitCount);
+    }
+
+    /**
+     * Decodes an image, taking it from the sprite sheet if it was packed.
+     *
+     * @param path The resource path of the image.
+     * @return The image, or {@code null} if it could not be loaded.
+     */
+    private static BufferedImage decode(String path) {
+        SpriteAtlas.Region region = SpriteAtlas.find(path);
+        if (region != null) {
+            return region.sheet().getSubimage(region.x(), region.y(), region.width(), region.height());
+        }
+        try (InputStream in = AssetRegistry.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + path);
+            }
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            System.err.println("Error loading image " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Restores the scope that was current before {@link #enter(String)}.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        /**
+         * Restores the previous scope.
+         */
+        @Override
+        void close();
+    }
+}
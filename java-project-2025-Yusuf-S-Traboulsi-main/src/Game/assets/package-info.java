@@ -0,0 +1,5 @@
+/**
+ * Contains the registry that loads and shares the game's images and sprites.
+ * Assets are decoded once, shared by every body that uses them, and released level by level.
+ */
+package game.assets;
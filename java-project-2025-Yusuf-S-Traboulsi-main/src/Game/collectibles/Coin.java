@@ -2,15 +2,14 @@ package game.collectibles;
 
 import city.cs.engine.*;
 
-import java.util.Objects;
-
-import game.characters.Player;
+import game.rendering.Renderable;
+import game.rendering.Sprite;
 
 /**
  * Represents a coin collectible in the game.
  * When collected by the player, it increases the player's coin count.
  */
-public class Coin extends StaticBody {
+public class Coin extends StaticBody implements Renderable {
     /**
      * The image path for the collectible.
      */
@@ -18,7 +17,7 @@ public class Coin extends StaticBody {
     /**
      * The sound effect for collecting the coin.
      */
-    BodyImage coinImage;
+    Sprite coinImage;
 
     /**
      * Constructs a Coin in the specified world.
@@ -39,7 +38,16 @@ public class Coin extends StaticBody {
      * Increases the player's coin count and destroys the collectible.
      */
     private void loadImage() {
-        coinImage = new BodyImage(Objects.requireNonNull(Coin.class.getResource("/game/resources/hud/coin/hud_coins.png")), 1.5f);
-        addImage(coinImage);
+        coinImage = Sprite.load("/game/resources/hud/coin/hud_coins.png", 1.5f);
+    }
+
+    /**
+     * Gets the coin's sprite.
+     *
+     * @return The coin sprite.
+     */
+    @Override
+    public Sprite getSprite() {
+        return coinImage;
     }
 }
\ No newline at end of file
@@ -5,8 +5,12 @@ import city.cs.engine.Shape;
 import city.cs.engine.SolidFixture;
 import city.cs.engine.World;
 import city.cs.engine.CircleShape;
-import city.cs.engine.BodyImage;
+import city.cs.engine.SimulationSettings;
 import game.characters.Player;
+import game.metrics.Metrics;
+import game.rendering.Renderable;
+import game.rendering.Sprite;
+import game.controls.AudioSettings;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
@@ -19,15 +23,23 @@ import java.util.Objects;
  * Represents a health collectible in the game.
  * When collected by the player, it restores health and grants temporary invincibility.
  */
-public class HealthCollectible extends DynamicBody {
+public class HealthCollectible extends DynamicBody implements Renderable {
     /**
      * The image path for the collectible.
      */
     private static final String IMAGE_PATH = "/game/resources/gem/gemRed.png";
+    /**
+     * How many physics steps the invincibility granted by the collectible lasts (10 seconds).
+     */
+    private static final int INVINCIBILITY_STEPS = 10 * SimulationSettings.DEFAULT_SIMULATION_RATE;
     /**
      * The sound effect for collecting the health item.
      */
     private static Clip popcartClip;
+    /**
+     * The gem sprite.
+     */
+    private final Sprite gemImage;
 
     static {
         preloadPopCartSound();
@@ -49,22 +61,18 @@ public class HealthCollectible extends DynamicBody {
         new SolidFixture(this, shape);
 
         // Add the gemRed image
-        BodyImage gemImage = new BodyImage(Objects.requireNonNull(getClass().getResource(IMAGE_PATH)), 3.0f);
-        addImage(gemImage);
+        gemImage = Sprite.load(IMAGE_PATH, 3.0f);
 
         // Add collision listener
-        this.addCollisionListener(e -> {
+        this.addCollisionListener(Metrics.timed(e -> {
             if (e.getOtherBody() instanceof Player player) {
                 // Recover health only if below the maximum
                 if (player.getHealth() < 6) {
                     player.setHealth(player.getHealth() + 1);
                 }
 
-                // Grant temporary invincibility
-                player.setInvincible(true);
-
-                // Remove invincibility after 5 seconds
-                new javax.swing.Timer(10000, evt -> player.setInvincible(false)).start();
+                // Grant temporary invincibility, counted in game time rather than wall-clock time
+                player.grantInvincibility(INVINCIBILITY_STEPS);
 
                 // Play the popcart sound
                 playPopCartSound();
@@ -72,15 +80,28 @@ public class HealthCollectible extends DynamicBody {
                 // Destroy the collectible
                 destroy();
             }
-        });
+        }));
 
     }
 
 
+    /**
+     * Gets the gem sprite.
+     *
+     * @return The gem sprite.
+     */
+    @Override
+    public Sprite getSprite() {
+        return gemImage;
+    }
+
     /**
      * Preloads the popcart sound effect.
      */
     private static void preloadPopCartSound() {
+        if (!AudioSettings.isEnabled()) {
+            return; // Headless runs never open audio lines
+        }
         try {
             AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
                     Objects.requireNonNull(HealthCollectible.class.getResource("/game/resources/sound/popcart.wav")));
@@ -1,30 +1,25 @@
 package game.hud;
 
-import city.cs.engine.UserView;
-import city.cs.engine.World;
 import game.characters.Player;
+import game.assets.AssetRegistry;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
 
 /**
  * Represents a HUD element that displays the number of coins collected by the player.
- * Updates dynamically as the player collects coins.
+ * It is drawn into the {@link Hud}'s cached overlay whenever the coin count changes.
  */
-public class CoinsCollected extends UserView {
+public class CoinsCollected {
     /**
      * The player whose coins are being tracked.
+     * Volatile because it is replaced on the event thread when a level starts and read wherever the HUD is drawn.
      */
-    private final Player player;
+    private volatile Player player;
     /**
-     * A map to store images of numbers 0-9 for displaying the coin count.
+     * Images of the numbers 0-9 for displaying the coin count, indexed by digit.
      */
-    private final Map<Character, BufferedImage> numberImages = new HashMap<>();
+    private final BufferedImage[] numberImages = new BufferedImage[10];
     /**
      * The image representing the coin icon.
      */
@@ -39,61 +34,65 @@ public class CoinsCollected extends UserView {
      * Constructs a new CoinsCollected instance.
      * Loads images for the coin icon, 'x' symbol, and number images.
      *
-     * @param w      The physics world in which the coins are collected.
      * @param player The player whose coins are being tracked.
-     * @param width  The width of the view.
-     * @param height The height of the view.
      */
-    public CoinsCollected(World w, Player player, int width, int height) {
-        super(w, width, height);
+    public CoinsCollected(Player player) {
         this.player = player;
         loadImages();
     }
 
+    /**
+     * Tracks the coins of another player, such as the next level's.
+     *
+     * @param player The player whose coins are being tracked.
+     */
+    public void setPlayer(Player player) {
+        this.player = player;
+    }
+
     /**
      * Loads images for the coin icon, 'x' symbol, and number images.
-     * Handles potential IO exceptions during image loading.
+     * Images packed into the sprite sheet are taken from it rather than read from their own files.
      */
     private void loadImages() {
-        try {
-            coinImage = ImageIO.read(Objects.requireNonNull(getClass().getResource("/game/resources/hud/coin/hud_coins.png")));
-            xSymbol = ImageIO.read(Objects.requireNonNull(getClass().getResource("/game/resources/hud/numbers/hud_x.png")));
+        coinImage = AssetRegistry.image("/game/resources/hud/coin/hud_coins.png", AssetRegistry.SHARED);
+        xSymbol = AssetRegistry.image("/game/resources/hud/numbers/hud_x.png", AssetRegistry.SHARED);
 
-            // Load numbers 0-9 into the map for easier access
-            for (int i = 0; i <= 9; i++) {
-                numberImages.put(Character.forDigit(i, 10),
-                        ImageIO.read(Objects.requireNonNull(getClass().getResource("/game/resources/hud/numbers/hud_" + i + ".png"))));
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading HUD images: " + e.getMessage());
+        // Load numbers 0-9 so each digit is its own index
+        for (int i = 0; i <= 9; i++) {
+            numberImages[i] = AssetRegistry.image("/game/resources/hud/numbers/hud_" + i + ".png", AssetRegistry.SHARED);
         }
     }
 
     /**
      * Paints the foreground elements of the HUD.
-     * Displays the coin icon, 'x' symbol, and the number of coins collected.
+     * Displays the coin icon, 'x' symbol, and the number of coins collected, kept near the right edge.
      *
-     * @param g The graphics context used for rendering.
+     * @param g     The graphics context used for rendering.
+     * @param width The width of the view the HUD is laid out in.
      */
-    @Override
-    public void paintForeground(Graphics2D g) {
-        int coinsCollected = player.getCoinsCollected();
-        String coinText = String.valueOf(coinsCollected);
+    public void paint(Graphics2D g, int width) {
+        int coinsCollected = Math.max(0, player.getCoinsCollected());
+        int left = width - 180; // Where the counter starts, 620 in the designed 800 pixel view
 
         // Draw coin icon
         if (coinImage != null) {
-            g.drawImage(coinImage, 620, 20, 40, 40, null);  // Coin Icon Size and Position
+            g.drawImage(coinImage, left, 20, 40, 40, null);  // Coin Icon Size and Position
         }
 
         // Draw 'x' symbol
         if (xSymbol != null) {
-            g.drawImage(xSymbol, 665, 30, 20, 20, null);  // 'x' Symbol Size and Position
+            g.drawImage(xSymbol, left + 45, 30, 20, 20, null);  // 'x' Symbol Size and Position
         }
 
-        // Draw each digit of the coin count
-        int xOffset = 690; // Position where numbers will be drawn
-        for (char digit : coinText.toCharArray()) {
-            BufferedImage digitImage = numberImages.get(digit);
+        // Draw each digit of the coin count, most significant first, without making a string of it
+        int place = 1;
+        while (place <= coinsCollected / 10) {
+            place *= 10;
+        }
+        int xOffset = left + 70; // Position where numbers will be drawn
+        for (; place > 0; place /= 10) {
+            BufferedImage digitImage = numberImages[coinsCollected / place % 10];
             if (digitImage != null) {
                 g.drawImage(digitImage, xOffset, 25, 20, 30, null);
                 xOffset += 20; // Shift position for the next digit
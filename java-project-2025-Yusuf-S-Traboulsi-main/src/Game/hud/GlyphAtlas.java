@@ -0,0 +1,175 @@
+package game.hud;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws text in one font and colour from glyphs rendered once into a single image.
+ * Covers printable ASCII. Drawing a string or a number copies one rectangle of the atlas per character,
+ * so unlike {@link Graphics2D#drawString(String, int, int)} it creates no fonts, glyph vectors or strings.
+ */
+public class GlyphAtlas {
+    /**
+     * The first character in the atlas, a space.
+     */
+    private static final char FIRST = ' ';
+    /**
+     * The last character in the atlas, a tilde.
+     */
+    private static final char LAST = '~';
+    /**
+     * Transparent pixels around each glyph, so anti-aliased edges and overhanging strokes are not cut off.
+     */
+    private static final int PADDING = 2;
+
+    /**
+     * Every glyph side by side, each in a cell of its advance width plus padding.
+     */
+    private final BufferedImage atlas;
+    /**
+     * The x offset of each glyph's cell in the atlas, by character minus {@link #FIRST}.
+     */
+    private final int[] cellX = new int[LAST - FIRST + 1];
+    /**
+     * The advance width of each glyph, by character minus {@link #FIRST}.
+     */
+    private final int[] advance = new int[LAST - FIRST + 1];
+    /**
+     * The distance from the top of a line to its baseline.
+     */
+    private final int ascent;
+
+    /**
+     * Renders every glyph of a font in a colour into a new atlas.
+     *
+     * @param font  The font to draw with.
+     * @param color The colour to draw in.
+     */
+    public GlyphAtlas(Font font, Color color) {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D measure = scratch.createGraphics();
+        FontMetrics metrics = measure.getFontMetrics(font);
+        measure.dispose();
+
+        int width = 0;
+        for (char c = FIRST; c <= LAST; c++) {
+            cellX[c - FIRST] = width;
+            advance[c - FIRST] = metrics.charWidth(c);
+            width += advance[c - FIRST] + 2 * PADDING;
+        }
+        ascent = metrics.getAscent();
+
+        int height = metrics.getAscent() + metrics.getDescent() + 2 * PADDING;
+        atlas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = atlas.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(font);
+            g.setColor(color);
+            for (char c = FIRST; c <= LAST; c++) {
+                g.drawString(String.valueOf(c), cellX[c - FIRST] + PADDING, PADDING + ascent);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Draws part of a character array.
+     * Characters outside printable ASCII are drawn as {@code ?}.
+     *
+     * @param g      The graphics context used for rendering.
+     * @param chars  The characters to draw.
+     * @param offset The index of the first character to draw.
+     * @param length The number of characters to draw.
+     * @param x      The x position of the start of the text.
+     * @param y      The y position of the baseline.
+     * @return The x position just after the drawn text.
+     */
+    public int drawChars(Graphics2D g, char[] chars, int offset, int length, int x, int y) {
+        for (int i = offset; i < offset + length; i++) {
+            x = drawChar(g, chars[i], x, y);
+        }
+        return x;
+    }
+
+    /**
+     * Draws a string.
+     * Characters outside printable ASCII are drawn as {@code ?}.
+     *
+     * @param g    The graphics context used for rendering.
+     * @param text The text to draw.
+     * @param x    The x position of the start of the text.
+     * @param y    The y position of the baseline.
+     * @return The x position just after the drawn text.
+     */
+    public int drawString(Graphics2D g, CharSequence text, int x, int y) {
+        for (int i = 0; i < text.length(); i++) {
+            x = drawChar(g, text.charAt(i), x, y);
+        }
+        return x;
+    }
+
+    /**
+     * Draws a single character.
+     *
+     * @param g The graphics context used for rendering.
+     * @param c The character to draw, drawn as {@code ?} if it is not printable ASCII.
+     * @param x The x position of the character.
+     * @param y The y position of the baseline.
+     * @return The x position just after the character.
+     */
+    private int drawChar(Graphics2D g, char c, int x, int y) {
+        int index = index(c);
+        int sx = cellX[index];
+        int cellWidth = advance[index] + 2 * PADDING;
+        int top = y - ascent - PADDING;
+        g.drawImage(atlas, x - PADDING, top, x - PADDING + cellWidth, top + atlas.getHeight(),
+                sx, 0, sx + cellWidth, atlas.getHeight(), null);
+        return x + advance[index];
+    }
+
+    /**
+     * Measures part of a character array.
+     *
+     * @param chars  The characters to measure.
+     * @param offset The index of the first character.
+     * @param length The number of characters.
+     * @return The width of the characters when drawn.
+     */
+    public int charsWidth(char[] chars, int offset, int length) {
+        int width = 0;
+        for (int i = offset; i < offset + length; i++) {
+            width += advance[index(chars[i])];
+        }
+        return width;
+    }
+
+    /**
+     * Measures a string.
+     *
+     * @param text The text to measure.
+     * @return The width of the text when drawn.
+     */
+    public int stringWidth(CharSequence text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += advance[index(text.charAt(i))];
+        }
+        return width;
+    }
+
+    /**
+     * Gets a character's index in the atlas.
+     *
+     * @param c The character.
+     * @return The index of the character, or of {@code ?} if it is not in the atlas.
+     */
+    private static int index(char c) {
+        return (c >= FIRST && c <= LAST ? c : '?') - FIRST;
+    }
+}
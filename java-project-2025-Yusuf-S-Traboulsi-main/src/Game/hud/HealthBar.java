@@ -1,23 +1,23 @@
 package game.hud;
 
-import city.cs.engine.*;
 import game.characters.Player;
 
+import game.assets.AssetRegistry;
+
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.Objects;
-import javax.imageio.ImageIO;
 
 /**
  * Represents a health bar HUD element that displays the player's health.
  * The health bar uses heart icons to visually represent full, half, and empty health states.
+ * It is drawn into the {@link Hud}'s cached overlay whenever the player's health changes.
  */
-public class HealthBar extends UserView {
+public class HealthBar {
     /**
      * The player whose health is displayed.
+     * Volatile because the view keeps its health bar from level to level and may draw it on the render thread.
      */
-    private final Player player;
+    private volatile Player player;
     /**
      * The image representing a full heart.
      */
@@ -35,23 +35,24 @@ public class HealthBar extends UserView {
      * Constructs a new HealthBar instance.
      * Loads heart images and initializes the health bar for the specified player.
      *
-     * @param world  The physics world in which the health bar exists.
      * @param player The player whose health is displayed.
-     * @param width  The width of the health bar view.
-     * @param height The height of the health bar view.
      */
-    public HealthBar(World world, Player player, int width, int height) {
-        super(world, width, height);
+    public HealthBar(Player player) {
         this.player = player;
 
-        // Load heart images
-        try {
-            fullHeart = ImageIO.read(Objects.requireNonNull(HealthBar.class.getResource("/game/resources/hud/health/hud_heartFull.png")));
-            halfHeart = ImageIO.read(Objects.requireNonNull(getClass().getResource("/game/resources/hud/health/hud_heartHalf.png")));
-            emptyHeart = ImageIO.read(Objects.requireNonNull(getClass().getResource("/game/resources/hud/health/hud_heartEmpty.png")));
-        } catch (IOException e) {
-            System.err.println("Error loading heart images: " + e.getMessage());
-        }
+        // Load heart images from the sprite sheet
+        fullHeart = AssetRegistry.image("/game/resources/hud/health/hud_heartFull.png", AssetRegistry.SHARED);
+        halfHeart = AssetRegistry.image("/game/resources/hud/health/hud_heartHalf.png", AssetRegistry.SHARED);
+        emptyHeart = AssetRegistry.image("/game/resources/hud/health/hud_heartEmpty.png", AssetRegistry.SHARED);
+    }
+
+    /**
+     * Shows the health of another player, such as the next level's.
+     *
+     * @param player The player whose health is displayed.
+     */
+    public void setPlayer(Player player) {
+        this.player = player;
     }
 
     /**
@@ -60,8 +61,7 @@ public class HealthBar extends UserView {
      *
      * @param g The graphics context used for rendering.
      */
-    @Override
-    public void paintForeground(Graphics2D g) {
+    public void paint(Graphics2D g) {
         int health = player.getHealth(); // Retrieve the player's current health
 
         // Draw 3 hearts, tracking full/half/empty
@@ -0,0 +1,155 @@
+package game.hud;
+
+import game.characters.Player;
+import game.characters.PlayerStatsListener;
+import game.metrics.Metrics;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws the health bar, coin counter and level timer as one cached overlay.
+ * The elements are only redrawn into the overlay when the player's health or coins change, which the player
+ * reports as it happens, or when the timer reaches a new second. Every other frame the overlay is copied to the
+ * view as a single image. The overlay is drawn at the view's scale, so it is only rescaled when the view's size
+ * or render resolution changes.
+ */
+public class Hud {
+    /**
+     * The height of the strip along the top of the view that the HUD elements are drawn in, at a scale of 1.
+     */
+    private static final int HEIGHT = 64;
+
+    /**
+     * The player whose health and coins are shown.
+     */
+    private volatile Player player;
+    /**
+     * The health bar.
+     */
+    private final HealthBar healthBar;
+    /**
+     * The coin counter.
+     */
+    private final CoinsCollected coinsCollected;
+    /**
+     * The level timer.
+     */
+    private final Timer timer;
+    /**
+     * Marks the overlay dirty when the player's health or coins change.
+     */
+    private final PlayerStatsListener statsListener = player -> dirty = true;
+
+    /**
+     * The HUD drawn at the current view width and scale, or {@code null} if it has not been made yet.
+     */
+    private BufferedImage overlay;
+    /**
+     * The scale the overlay was drawn at.
+     */
+    private float overlayScale;
+    /**
+     * Whether the overlay must be redrawn before it is next shown. Set on the simulation thread, read when painting.
+     */
+    private volatile boolean dirty = true;
+    /**
+     * The timer second shown in the overlay, or -1 if the timer was not running.
+     */
+    private long shownSecond = -1;
+
+    /**
+     * Constructs the HUD for a player and starts listening for changes to their stats.
+     *
+     * @param player The player whose health and coins are shown.
+     * @param timer  The level timer shown at the top of the view.
+     */
+    public Hud(Player player, Timer timer) {
+        this.player = player;
+        this.healthBar = new HealthBar(player);
+        this.coinsCollected = new CoinsCollected(player);
+        this.timer = timer;
+        player.addStatsListener(statsListener);
+    }
+
+    /**
+     * Shows another player's health and coins, such as the next level's, without making a new HUD.
+     * Stops listening to the previous player, so a finished level's player is not kept alive by the HUD.
+     *
+     * @param player The player to show.
+     */
+    public void setPlayer(Player player) {
+        if (player == this.player) {
+            return;
+        }
+        this.player.removeStatsListener(statsListener);
+        this.player = player;
+        healthBar.setPlayer(player);
+        coinsCollected.setPlayer(player);
+        player.addStatsListener(statsListener);
+        dirty = true;
+    }
+
+    /**
+     * Draws the HUD along the top of the view, redrawing the overlay first if anything on it has changed.
+     *
+     * @param g      The graphics context used for rendering.
+     * @param config The view's graphics configuration, or {@code null} if the view is not on screen.
+     * @param width  The view's width.
+     * @param scale  The size of the HUD relative to its size in a view of the designed height.
+     */
+    public void paint(Graphics2D g, GraphicsConfiguration config, int width, float scale) {
+        if (width <= 0 || scale <= 0) {
+            return;
+        }
+        long second = timer.isRunning() ? timer.getElapsedTime() / 1000 : -1;
+        if (overlay == null || overlay.getWidth() != width || overlayScale != scale) {
+            int height = Math.max(1, Math.round(HEIGHT * scale));
+            overlay = config != null
+                    ? config.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            overlayScale = scale;
+            dirty = true;
+        }
+        if (dirty || second != shownSecond) {
+            dirty = false; // Cleared first, so a change made while redrawing is picked up next frame
+            shownSecond = second;
+            render(Math.round(width / scale));
+        }
+        g.drawImage(overlay, 0, 0, null);
+    }
+
+    /**
+     * Clears the overlay and draws every HUD element into it, laid out at a scale of 1.
+     *
+     * @param width The view's width at a scale of 1.
+     */
+    private void render(int width) {
+        Graphics2D g = overlay.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, overlay.getWidth(), overlay.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.scale(overlayScale, overlayScale);
+
+            long start = Metrics.start();
+            healthBar.paint(g);
+            Metrics.PAINT_HEALTH_BAR.stop(start);
+
+            start = Metrics.start();
+            coinsCollected.paint(g, width);
+            Metrics.PAINT_COINS.stop(start);
+
+            start = Metrics.start();
+            timer.paintForeground(g, width);
+            Metrics.PAINT_TIMER.stop(start);
+        } finally {
+            g.dispose();
+        }
+    }
+}
@@ -7,6 +7,15 @@ import java.awt.*;
  * Provides functionality to start, stop, and display the timer.
  */
 public class Timer {
+    /**
+     * The digits and colon the timer is drawn with.
+     */
+    private static final GlyphAtlas GLYPHS = new GlyphAtlas(new Font("Arial", Font.BOLD, 20), Color.WHITE);
+
+    /**
+     * The elapsed time as last formatted for drawing, reused every frame.
+     */
+    private final char[] time = new char[24];
     private long startTime;
     private boolean running;
 
@@ -35,6 +44,15 @@ public class Timer {
         this.running = false;
     }
 
+    /**
+     * Checks whether the timer is running.
+     *
+     * @return {@code true} if the timer has been started and not stopped.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
     /**
      * Retrieves the elapsed time in milliseconds since the timer started.
      *
@@ -70,11 +88,32 @@ public class Timer {
     // Render the timer on the screen
     public void paintForeground(Graphics2D g, int screenWidth) {
         if (running) {
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, 20));
-            String time = getFormattedTime();
-            int stringWidth = g.getFontMetrics().stringWidth(time);
-            g.drawString(time, (screenWidth - stringWidth) / 2, 30); // Top center
+            int length = formatTime(getElapsedTime());
+            int stringWidth = GLYPHS.charsWidth(time, 0, length);
+            GLYPHS.drawChars(g, time, 0, length, (screenWidth - stringWidth) / 2, 30); // Top center
+        }
+    }
+
+    /**
+     * Formats a time as MM:SS into {@link #time}, as {@link #getFormattedTime()} does but without making a string.
+     *
+     * @param elapsedMillis The time in milliseconds.
+     * @return The number of characters written.
+     */
+    private int formatTime(long elapsedMillis) {
+        long seconds = (elapsedMillis / 1000) % 60;
+        long minutes = (elapsedMillis / 1000) / 60;
+        long place = 10; // At least two digits of minutes
+        while (place <= minutes / 10) {
+            place *= 10;
+        }
+        int length = 0;
+        for (; place > 0; place /= 10) {
+            time[length++] = (char) ('0' + minutes / place % 10);
         }
+        time[length++] = ':';
+        time[length++] = (char) ('0' + seconds / 10);
+        time[length++] = (char) ('0' + seconds % 10);
+        return length;
     }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package game.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A rolling histogram of the most recent samples of one measurement.
+ * Recording a sample only writes it into a ring buffer; percentiles are worked out when a summary is asked for,
+ * so the cost falls on whoever reads the metric rather than on the path being measured.
+ */
+public class Metric {
+    /**
+     * The number of recent samples kept, about seventeen seconds of steps at 60 steps per second.
+     */
+    private static final int WINDOW = 1024;
+
+    /**
+     * The name the metric is reported under.
+     */
+    private final String name;
+    /**
+     * Whether the samples are durations in nanoseconds, rather than plain counts.
+     */
+    private final boolean nanos;
+    /**
+     * The most recent samples, oldest overwritten first.
+     */
+    private final long[] samples = new long[WINDOW];
+    /**
+     * The total number of samples ever recorded.
+     */
+    private long recorded;
+
+    /**
+     * Constructs an empty metric.
+     *
+     * @param name  The name the metric is reported under.
+     * @param nanos {@code true} if the samples are durations in nanoseconds.
+     */
+    Metric(String name, boolean nanos) {
+        this.name = name;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Gets the name the metric is reported under.
+     *
+     * @return The metric's name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records the time since a start time taken from {@link Metrics#start()}.
+     * Does nothing if metrics were off when the start time was taken.
+     *
+     * @param start The start time.
+     */
+    public void stop(long start) {
+        if (start != Metrics.OFF) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a sample if metrics are on.
+     *
+     * @param value The sample.
+     */
+    public void add(long value) {
+        if (Metrics.isEnabled()) {
+            record(value);
+        }
+    }
+
+    /**
+     * Records a sample.
+     *
+     * @param value The sample.
+     */
+    synchronized void record(long value) {
+        samples[(int) (recorded++ % WINDOW)] = value;
+    }
+
+    /**
+     * Works out the percentiles of the samples in the window.
+     *
+     * @return A summary of the recent samples.
+     */
+    public Summary summarize() {
+        long[] sorted;
+        long total;
+        synchronized (this) {
+            total = recorded;
+            sorted = Arrays.copyOf(samples, (int) Math.min(recorded, WINDOW));
+        }
+        if (sorted.length == 0) {
+            return new Summary(name, nanos, total, 0, 0, 0);
+        }
+        Arrays.sort(sorted);
+        return new Summary(name, nanos, total, percentile(sorted, 0.5), percentile(sorted, 0.99), sorted[sorted.length - 1]);
+    }
+
+    /**
+     * Gets a percentile of sorted samples, by the nearest-rank method.
+     *
+     * @param sorted   The samples, in ascending order.
+     * @param fraction The percentile as a fraction between 0 and 1.
+     * @return The sample at that percentile.
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Discards every sample.
+     */
+    synchronized void reset() {
+        recorded = 0;
+    }
+
+    /**
+     * The percentiles of a metric's recent samples.
+     *
+     * @param name  The metric's name.
+     * @param nanos Whether the values are durations in nanoseconds.
+     * @param count The total number of samples ever recorded.
+     * @param p50   The median of the recent samples.
+     * @param p99   The 99th percentile of the recent samples.
+     * @param max   The largest recent sample.
+     */
+    public record Summary(String name, boolean nanos, long count, long p50, long p99, long max) {
+        /**
+         * Formats the summary as one line of a report, with durations in microseconds.
+         *
+         * @return The formatted summary.
+         */
+        @Override
+        public String toString() {
+            if (nanos) {
+                return String.format("%-22s %10d  p50 %9.1f us  p99 %9.1f us  max %9.1f us",
+                        name, count, p50 / 1e3, p99 / 1e3, max / 1e3);
+            }
+            return String.format("%-22s %10d  p50 %9d     p99 %9d     max %9d", name, count, p50, p99, max);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package game.metrics;
+
+import city.cs.engine.CollisionEvent;
+import city.cs.engine.CollisionListener;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registry of the game's hot-path metrics, and the switch that turns them on or off.
+ * Metrics are off by default, which reduces every measurement to a single flag check. Running with
+ * {@value #PROPERTY}{@code =true}, or calling {@link #setEnabled(boolean)}, records them: timing a path then costs
+ * two clock reads and a write into a ring buffer, and the game prints a report when its window is closed.
+ */
+public final class Metrics {
+    /**
+     * The system property that turns metrics on, e.g. {@code -Dgame.metrics=true}.
+     */
+    public static final String PROPERTY = "game.metrics";
+
+    /**
+     * The start time handed out while metrics are off, telling {@link Metric#stop(long)} to record nothing.
+     */
+    static final long OFF = Long.MIN_VALUE;
+
+    /**
+     * Whether measurements are being recorded.
+     */
+    private static volatile boolean enabled = Boolean.getBoolean(PROPERTY);
+    /**
+     * Every registered metric, in the order it was registered.
+     */
+    private static final List<Metric> registry = new ArrayList<>();
+
+    /**
+     * The time taken by a whole physics step, including step listeners and collision callbacks.
+     */
+    public static final Metric WORLD_STEP = timer("world.step");
+    /**
+     * The time spent updating moving platforms and falling spikes in a step.
+     */
+    public static final Metric STEP_PLATFORMS = timer("step.platforms");
+    /**
+     * The time spent updating the player in a step.
+     */
+    public static final Metric STEP_PLAYER = timer("step.player");
+    /**
+     * The time spent updating enemies in a step.
+     */
+    public static final Metric STEP_ENEMIES = timer("step.enemies");
+    /**
+     * The time taken by each collision callback.
+     */
+    public static final Metric COLLISION = timer("collision");
+    /**
+     * The number of collision callbacks in a step.
+     */
+    public static final Metric COLLISIONS_PER_STEP = counter("collisions.perStep");
+    /**
+     * The bytes allocated by the stepping thread during a step.
+     */
+    public static final Metric STEP_ALLOCATED_BYTES = counter("step.allocatedBytes");
+    /**
+     * The number of dynamic bodies in the world, sampled once a second.
+     */
+    public static final Metric DYNAMIC_BODIES = counter("world.dynamicBodies");
+    /**
+     * The number of static bodies in the world, sampled once a second.
+     */
+    public static final Metric STATIC_BODIES = counter("world.staticBodies");
+    /**
+     * The time taken to paint the view's background.
+     */
+    public static final Metric PAINT_BACKGROUND = timer("paint.background");
+    /**
+     * The time taken to paint the bodies in a snapshot.
+     */
+    public static final Metric PAINT_BODIES = timer("paint.bodies");
+    /**
+     * The number of bodies found in view and drawn each frame.
+     */
+    public static final Metric PAINT_BODIES_DRAWN = counter("paint.bodies.drawn");
+    /**
+     * The time taken to paint the view's foreground, including the HUD.
+     */
+    public static final Metric PAINT_FOREGROUND = timer("paint.foreground");
+    /**
+     * The time taken to paint the HUD overlay, including redrawing it when something on it has changed.
+     */
+    public static final Metric PAINT_HUD = timer("paint.hud");
+    /**
+     * The time taken to redraw the health bar into the HUD overlay.
+     */
+    public static final Metric PAINT_HEALTH_BAR = timer("paint.hud.health");
+    /**
+     * The time taken to redraw the coin counter into the HUD overlay.
+     */
+    public static final Metric PAINT_COINS = timer("paint.hud.coins");
+    /**
+     * The time taken to redraw the level timer into the HUD overlay.
+     */
+    public static final Metric PAINT_TIMER = timer("paint.hud.timer");
+    /**
+     * The number of frame deadlines the active render loop missed before each frame it rendered.
+     */
+    public static final Metric FRAMES_SKIPPED = counter("render.framesSkipped");
+
+    /**
+     * Reads the bytes allocated by the current thread, or {@code null} if the JVM cannot.
+     */
+    private static final com.sun.management.ThreadMXBean allocation = allocationBean();
+    /**
+     * The number of collision callbacks made on each stepping thread since its last step began.
+     */
+    private static final ThreadLocal<int[]> collisions = ThreadLocal.withInitial(() -> new int[1]);
+
+    private Metrics() {
+    }
+
+    /**
+     * Checks whether measurements are being recorded.
+     *
+     * @return {@code true} if metrics are on.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns measurements on or off. Samples already recorded are kept.
+     *
+     * @param enabled {@code true} to record measurements, {@code false} to skip them.
+     */
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Gets the start time for a measurement, to be passed to {@link Metric#stop(long)} once the path is done.
+     *
+     * @return The current time in nanoseconds, or a marker meaning nothing will be recorded if metrics are off.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : OFF;
+    }
+
+    /**
+     * Gets the bytes allocated by the current thread so far.
+     *
+     * @return The allocated bytes, or {@code -1} if metrics are off or the JVM cannot measure allocation.
+     */
+    public static long allocatedBytes() {
+        return enabled && allocation != null ? allocation.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Records the bytes allocated by the current thread since an earlier reading from {@link #allocatedBytes()}.
+     *
+     * @param metric The metric to record into.
+     * @param before The earlier reading.
+     */
+    public static void stopAllocation(Metric metric, long before) {
+        if (before >= 0) {
+            metric.record(allocation.getCurrentThreadAllocatedBytes() - before);
+        }
+    }
+
+    /**
+     * Wraps a collision listener so each of its callbacks is timed and counted towards the current step.
+     *
+     * @param listener The listener to wrap.
+     * @return A listener that times the wrapped one.
+     */
+    public static CollisionListener timed(CollisionListener listener) {
+        return e -> collide(listener, e);
+    }
+
+    /**
+     * Passes a collision to a listener, timing it if metrics are on.
+     *
+     * @param listener The listener to call.
+     * @param e        The collision event.
+     */
+    private static void collide(CollisionListener listener, CollisionEvent e) {
+        if (!enabled) {
+            listener.collide(e);
+            return;
+        }
+        collisions.get()[0]++;
+        long start = System.nanoTime();
+        listener.collide(e);
+        COLLISION.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Gets and clears the number of collision callbacks made on the current thread since the last call.
+     *
+     * @return The number of collision callbacks.
+     */
+    public static int takeCollisionCount() {
+        int[] count = collisions.get();
+        int taken = count[0];
+        count[0] = 0;
+        return taken;
+    }
+
+    /**
+     * Gets a summary of every metric, in the order they were registered.
+     *
+     * @return The summaries.
+     */
+    public static List<Metric.Summary> summarize() {
+        List<Metric.Summary> summaries = new ArrayList<>();
+        synchronized (registry) {
+            for (Metric metric : registry) {
+                summaries.add(metric.summarize());
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Prints a summary of every metric that has recorded a sample.
+     *
+     * @param out The stream to print to.
+     */
+    public static void print(PrintStream out) {
+        for (Metric.Summary summary : summarize()) {
+            if (summary.count() > 0) {
+                out.println(summary);
+            }
+        }
+    }
+
+    /**
+     * Discards the samples of every metric.
+     */
+    public static void reset() {
+        synchronized (registry) {
+            for (Metric metric : registry) {
+                metric.reset();
+            }
+        }
+    }
+
+    /**
+     * Registers a metric whose samples are durations.
+     *
+     * @param name The name the metric is reported under.
+     * @return The new metric.
+     */
+    public static Metric timer(String name) {
+        return register(new Metric(name, true));
+    }
+
+    /**
+     * Registers a metric whose samples are counts.
+     *
+     * @param name The name the metric is reported under.
+     * @return The new metric.
+     */
+    public static Metric counter(String name) {
+        return register(new Metric(name, false));
+    }
+
+    /**
+     * Adds a metric to the registry.
+     *
+     * @param metric The metric to add.
+     * @return The same metric.
+     */
+    private static Metric register(Metric metric) {
+        synchronized (registry) {
+            registry.add(metric);
+        }
+        return metric;
+    }
+
+    /**
+     * Finds the JVM's per-thread allocation counter, switching it on if it is supported but off.
+     *
+     * @return The thread bean, or {@code null} if allocation cannot be measured.
+     */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return sunBean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains the instrumentation used to see where the time of a step or frame goes.
+ * This includes the rolling histograms kept for each hot path and the registry that holds them and turns them on or off.
+ */
+package game.metrics;
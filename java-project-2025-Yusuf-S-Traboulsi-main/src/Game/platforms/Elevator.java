@@ -1,13 +1,22 @@
 package game.platforms;
 
 import city.cs.engine.*;
+import game.levelLoader.GameWorld;
+import game.levelLoader.Updatable;
+import game.rendering.Renderable;
+import game.rendering.Sprite;
+import game.replay.Restorable;
 import org.jbox2d.common.Vec2;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Represents an elevator platform that moves vertically between two points.
  * The elevator alternates its direction when reaching the start or end position.
  */
-public class Elevator extends StaticBody implements StepListener {
+public class Elevator extends StaticBody implements Updatable, Renderable, Restorable {
     /**
      * The shape of the elevator platform.
      */
@@ -33,6 +42,11 @@ public class Elevator extends StaticBody implements StepListener {
      */
     private boolean movingUp;
 
+    /**
+     * The outline drawn for the elevator.
+     */
+    protected Sprite sprite;
+
     /**
      * Creates an elevator that moves between two vertical positions.
      *
@@ -42,22 +56,24 @@ public class Elevator extends StaticBody implements StepListener {
      * @param endY   The ending Y-coordinate of the elevator.
      * @param speed  The speed of the elevator's movement.
      */
-    public Elevator(World world, float x, float startY, float endY, float speed) {
+    public Elevator(GameWorld world, float x, float startY, float endY, float speed) {
         super(world, platformShape);
         setPosition(new Vec2(x, startY));
         this.startY = startY;
         this.endY = endY;
         this.speed = speed;
         this.movingUp = true;
-        world.addStepListener(this);
+        this.sprite = Sprite.outline(getFillColor(), getLineColor(), Sprite.box(1.5f, 0.25f));
+        world.getEntities().add(this);
     }
 
     /**
-     * Sets the images for the elevator.
-     * This method can be overridden to customize the appearance of the elevator.
+     * Moves the elevator along its track, turning at either end.
+     *
+     * @param e The step event.
      */
     @Override
-    public void preStep(StepEvent e) {
+    public void update(StepEvent e) {
         Vec2 position = getPosition();
         if (movingUp) {
             setPosition(new Vec2(position.x, position.y + speed * e.getStep()));
@@ -79,7 +95,39 @@ public class Elevator extends StaticBody implements StepListener {
      * @param e The step event.
      */
     @Override
-    public void postStep(StepEvent e) {
+    public void afterStep(StepEvent e) {
         // No need to do anything after the step
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the elevator's outline sprite.
+     *
+     * @return The outline sprite.
+     */
+    @Override
+    public Sprite getSprite() {
+        return sprite;
+    }
+
+    /**
+     * Writes the elevator's direction of travel.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the state cannot be written.
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(movingUp);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If the state cannot be read.
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        movingUp = in.readBoolean();
+    }
+}
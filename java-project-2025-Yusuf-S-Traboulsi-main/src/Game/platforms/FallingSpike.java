@@ -9,16 +9,24 @@ import city.cs.engine.Sensor;
 import city.cs.engine.SensorEvent;
 import city.cs.engine.SensorListener;
 import city.cs.engine.StepEvent;
-import city.cs.engine.StepListener;
-import city.cs.engine.World;
 import org.jbox2d.common.Vec2;
 import game.characters.Player;
+import game.levelLoader.GameWorld;
+import game.levelLoader.Updatable;
+import game.metrics.Metrics;
+import game.rendering.Renderable;
+import game.rendering.Sprite;
+import game.replay.Restorable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * A spike that remains stationary until the player moves underneath,
  * then drops straight down and deals 2 points of damage on collision.
  */
-public class FallingSpike extends DynamicBody implements SensorListener, StepListener, CollisionListener {
+public class FallingSpike extends DynamicBody implements SensorListener, Updatable, CollisionListener, Renderable, Restorable {
     private static final PolygonShape spikeShape = new PolygonShape(
             0f, -1f,
             -0.5f, 0.5f,
@@ -40,29 +48,35 @@ public class FallingSpike extends DynamicBody implements SensorListener, StepLis
      */
     private boolean activated = false;
 
+    /**
+     * The outline drawn for the spike.
+     */
+    private final Sprite sprite;
+
     /**
      * @param world  the physics world
      * @param x      horizontal position of spike and trigger zone
      * @param y      vertical base position before falling
      * @param player reference to the player to inflict damage
      */
-    public FallingSpike(World world, float x, float y, Player player) {
+    public FallingSpike(GameWorld world, float x, float y, Player player) {
         super(world, spikeShape);
         this.player = player;
 
         // Place the spike at its starting position
         setPosition(new Vec2(x, y + 3));
         setGravityScale(0);  // initially inert
+        sprite = Sprite.outline(getFillColor(), getLineColor(), Sprite.polygon(0f, -1f, -0.5f, 0.5f, 0.5f, 0.5f));
 
         // Sensor zone beneath spike to detect the player
         trigger = new Sensor(this, new BoxShape(1, 100, new Vec2(0, 0)));
         trigger.addSensorListener(this);
 
         // Listen for collisions with player
-        addCollisionListener(this);
+        addCollisionListener(Metrics.timed(this));
 
         // Constrain horizontal movement when falling
-        world.addStepListener(this);
+        world.getEntities().add(this);
     }
 
     /**
@@ -99,7 +113,7 @@ public class FallingSpike extends DynamicBody implements SensorListener, StepLis
      * @param e The step event containing the time step information.
      */
     @Override
-    public void preStep(StepEvent e) {
+    public void update(StepEvent e) {
         if (activated) {
             // lock horizontal velocity
             Vec2 vel = getLinearVelocity();
@@ -114,10 +128,20 @@ public class FallingSpike extends DynamicBody implements SensorListener, StepLis
      * @param e The step event containing the time step information.
      */
     @Override
-    public void postStep(StepEvent e) {
+    public void afterStep(StepEvent e) {
         // no additional logic
     }
 
+    /**
+     * Gets the spike's outline sprite.
+     *
+     * @return The outline sprite.
+     */
+    @Override
+    public Sprite getSprite() {
+        return sprite;
+    }
+
     /**
      * Handles the collision between the falling spike and the player.
      * Inflicts damage to the player and destroys the spike after contact.
@@ -133,4 +157,26 @@ public class FallingSpike extends DynamicBody implements SensorListener, StepLis
             destroy(); // Destroy the spike after contact
         }
     }
+
+    /**
+     * Writes whether the spike has been triggered.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the state cannot be written.
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(activated);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If the state cannot be read.
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        activated = in.readBoolean();
+    }
 }
@@ -2,12 +2,11 @@ package game.platforms;
 
 import city.cs.engine.StaticBody;
 import city.cs.engine.BoxShape;
-import city.cs.engine.BodyImage;
 import city.cs.engine.World;
+import game.rendering.Scenery;
+import game.rendering.Sprite;
 import org.jbox2d.common.Vec2;
 
-import java.util.Objects;
-
 /**
  * Represents a ground platform in the game.
  * The ground is created by tiling segments of a specified image.
@@ -30,10 +29,37 @@ public class Ground {
      */
     public Ground(World world, float x, float y, float width, float height) {
         float segmentWidth = height * 2; // Use height to scale the image proportionally
+        Sprite image = Sprite.load(IMAGE_PATH, height * 2); // Shared by every segment of this platform
         for (float i = -width; i < width; i += segmentWidth) {
-            StaticBody segment = new StaticBody(world, new BoxShape(segmentWidth / 2, height));
+            Segment segment = new Segment(world, new BoxShape(segmentWidth / 2, height), image);
             segment.setPosition(new Vec2(x + i + segmentWidth / 2, y));
-            segment.addImage(new BodyImage(Objects.requireNonNull(Ground.class.getResource(IMAGE_PATH)), height * 2));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A single tiled segment of a ground platform.
+     */
+    private static class Segment extends StaticBody implements Scenery {
+        /**
+         * The tile sprite.
+         */
+        private final Sprite image;
+
+        /**
+         * Creates a ground segment.
+         *
+         * @param world The world in which the segment exists.
+         * @param shape The shape of the segment.
+         * @param image The tile sprite.
+         */
+        Segment(World world, BoxShape shape, Sprite image) {
+            super(world, shape);
+            this.image = image;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return image;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package game.platforms;
 
 import city.cs.engine.*;
 import game.characters.Player;
+import game.levelLoader.GameWorld;
+import game.rendering.Sprite;
 
 /**
  * A spike that falls when the player is detected and inflicts damage on contact.
@@ -25,11 +27,13 @@ public class MoveFallingSpike extends Elevator {
      * @param endY   The ending Y-coordinate of the spike's movement.
      * @param speed  The speed of the spike's vertical movement.
      */
-    public MoveFallingSpike(World world, float x, float startY, float endY, float speed) {
+    public MoveFallingSpike(GameWorld world, float x, float startY, float endY, float speed) {
         super(world, x, startY, endY, speed);
 
         // Replace the default shape with the triangular shape
         new SolidFixture(this, spikeShape);
+        sprite = Sprite.outline(getFillColor(), getLineColor(), Sprite.box(1.5f, 0.25f),
+                Sprite.polygon(0f, 0.5f, -0.5f, -0.5f, 0.5f, -0.5f));
 
         // Add a sensor to detect collisions
         Sensor sensor = new Sensor(this, spikeShape);
@@ -2,6 +2,10 @@ package game.platforms;
 
 import city.cs.engine.*;
 import game.characters.Player;
+import game.metrics.Metrics;
+import game.rendering.Scenery;
+import game.rendering.Sprite;
+import game.controls.AudioSettings;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
@@ -9,12 +13,13 @@ import javax.sound.sampled.Clip;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A trampoline platform that launches the player upward when they collide with it.
  * Plays a jump sound effect upon contact.
  */
-public class Trampoline extends StaticBody {
+public class Trampoline extends StaticBody implements Scenery {
 
     /**
      * The shape of the trampoline platform.
@@ -30,8 +35,13 @@ public class Trampoline extends StaticBody {
     private static final List<Clip> jumpClipPool = new ArrayList<>();
     /**
      * The index of the current clip in the pool.
+     * Atomic because farm runs step many worlds at once.
      */
-    private static int currentClipIndex = 0;
+    private static final AtomicInteger currentClipIndex = new AtomicInteger();
+    /**
+     * The outline drawn for the trampoline.
+     */
+    private final Sprite sprite;
 
     static {
         preloadJumpSound(); // Preload the sound pool when the class is loaded
@@ -47,13 +57,24 @@ public class Trampoline extends StaticBody {
         super(world, trampolineShape);
         SolidFixture fixture = new SolidFixture(this, trampolineShape);
         fixture.setRestitution(1.2f); // Set a high restitution value for bounciness
+        sprite = Sprite.outline(getFillColor(), getLineColor(), Sprite.box(2, 0.5f));
 
         // Add a collision listener to play the sound on contact
-        this.addCollisionListener(e -> {
+        this.addCollisionListener(Metrics.timed(e -> {
             if (e.getOtherBody() instanceof Player) {
                 playJumpSound();
             }
-        });
+        }));
+    }
+
+    /**
+     * Gets the trampoline's outline sprite.
+     *
+     * @return The outline sprite.
+     */
+    @Override
+    public Sprite getSprite() {
+        return sprite;
     }
 
     /**
@@ -61,6 +82,9 @@ public class Trampoline extends StaticBody {
      * This method is called when the class is loaded.
      */
     private static void preloadJumpSound() {
+        if (!AudioSettings.isEnabled()) {
+            return; // Headless runs never open audio lines
+        }
         try {
             for (int i = 0; i < CLIP_POOL_SIZE; i++) {
                 AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(Objects.requireNonNull(Trampoline.class.getResource("/game/resources/sound/jump.wav")));
@@ -79,10 +103,9 @@ public class Trampoline extends StaticBody {
      */
     private void playJumpSound() {
         if (!jumpClipPool.isEmpty()) {
-            Clip clip = jumpClipPool.get(currentClipIndex);
+            Clip clip = jumpClipPool.get(currentClipIndex.getAndUpdate(i -> (i + 1) % CLIP_POOL_SIZE)); // Move to the next clip in the pool
             clip.setFramePosition(0); // Reset the clip to the beginning
             clip.start();
-            currentClipIndex = (currentClipIndex + 1) % CLIP_POOL_SIZE; // Move to the next clip in the pool
         }
     }
 }
\ No newline at end of file
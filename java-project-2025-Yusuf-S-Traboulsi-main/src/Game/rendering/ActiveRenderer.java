@@ -0,0 +1,211 @@
+package game.rendering;
+
+import game.metrics.Metrics;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.image.VolatileImage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Renders a component's frames on a dedicated thread at a steady rate, instead of waiting for Swing to
+ * coalesce repaint requests.
+ * <p>
+ * Each frame is drawn into a volatile back buffer on the render thread at its own deadline. The event thread
+ * is then asked to present it, which is a single image copy, so Swing still paints the components layered
+ * above the view. When the loop falls more than a frame behind it skips the missed deadlines rather than
+ * rendering them late, and while the event thread has not presented the last frame no new one is rendered.
+ */
+public class ActiveRenderer {
+    /**
+     * Draws one frame of the component.
+     */
+    @FunctionalInterface
+    public interface Frame {
+        /**
+         * Draws a frame.
+         *
+         * @param g      The graphics context to draw into.
+         * @param width  The width of the frame.
+         * @param height The height of the frame.
+         */
+        void render(Graphics2D g, int width, int height);
+    }
+
+    /**
+     * The component the frames are presented in.
+     */
+    private final JComponent view;
+    /**
+     * Draws each frame.
+     */
+    private final Frame frame;
+    /**
+     * Held while the back buffer is drawn or copied, so the event thread never presents a half-drawn frame.
+     */
+    private final Object lock = new Object();
+    /**
+     * Whether a rendered frame is waiting for the event thread to present it.
+     */
+    private final AtomicBoolean presentPending = new AtomicBoolean();
+    /**
+     * The time between frame deadlines, in nanoseconds.
+     */
+    private volatile long frameNanos;
+    /**
+     * The render thread, or {@code null} when the loop is not running.
+     */
+    private volatile Thread thread;
+    /**
+     * The last frame rendered, or {@code null} if none has been or its contents were lost.
+     */
+    private VolatileImage buffer;
+
+    /**
+     * Creates a render loop for a component. The loop does not run until {@link #start()} is called.
+     *
+     * @param view            The component the frames are presented in.
+     * @param frame           Draws each frame.
+     * @param framesPerSecond The target frame rate.
+     */
+    public ActiveRenderer(JComponent view, Frame frame, int framesPerSecond) {
+        this.view = view;
+        this.frame = frame;
+        setTargetFrameRate(framesPerSecond);
+    }
+
+    /**
+     * Sets how many frames per second the loop renders.
+     *
+     * @param framesPerSecond The target frame rate.
+     */
+    public void setTargetFrameRate(int framesPerSecond) {
+        frameNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, framesPerSecond);
+    }
+
+    /**
+     * Starts the render loop if it is not already running.
+     */
+    public synchronized void start() {
+        if (thread == null) {
+            thread = new Thread(this::run, "render");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the render loop. Returns without waiting, so it is safe to call on the event thread.
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    /**
+     * Runs a change to the state frames are drawn from while no frame is being drawn or presented.
+     *
+     * @param change The change to make.
+     */
+    public void runBetweenFrames(Runnable change) {
+        synchronized (lock) {
+            change.run();
+        }
+    }
+
+    /**
+     * Copies the last rendered frame into a component's graphics. Called from the component's
+     * {@code paintComponent}. If there is no complete frame to copy, one is drawn directly instead.
+     *
+     * @param g The component's graphics context.
+     */
+    public void present(Graphics g) {
+        presentPending.set(false);
+        synchronized (lock) {
+            if (buffer != null && !buffer.contentsLost()) {
+                g.drawImage(buffer, 0, 0, null);
+            } else {
+                frame.render((Graphics2D) g, view.getWidth(), view.getHeight());
+            }
+        }
+    }
+
+    /**
+     * Renders and presents frames at their deadlines until the loop is stopped.
+     */
+    private void run() {
+        long deadline = System.nanoTime();
+        while (thread == Thread.currentThread()) {
+            long period = frameNanos;
+            long wait = deadline - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue; // Woken early or stopped; check again
+            }
+            // More than a whole frame late: drop the missed deadlines instead of rendering them back to back
+            long missed = -wait / period;
+            deadline += (missed + 1) * period;
+            Metrics.FRAMES_SKIPPED.add(missed);
+
+            if (!presentPending.compareAndSet(false, true)) {
+                continue; // The event thread has not shown the last frame yet, so a new one would be wasted
+            }
+            if (render()) {
+                SwingUtilities.invokeLater(this::presentNow);
+            } else {
+                presentPending.set(false);
+            }
+        }
+    }
+
+    /**
+     * Draws the next frame into the back buffer, making or restoring the buffer first if needed.
+     *
+     * @return {@code true} if a frame was drawn, {@code false} if the view is not on screen.
+     */
+    private boolean render() {
+        GraphicsConfiguration config = view.getGraphicsConfiguration();
+        int width = view.getWidth();
+        int height = view.getHeight();
+        if (config == null || width <= 0 || height <= 0) {
+            return false;
+        }
+        synchronized (lock) {
+            if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height
+                    || buffer.validate(config) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (buffer != null) {
+                    buffer.flush();
+                }
+                buffer = config.createCompatibleVolatileImage(width, height);
+            }
+            Graphics2D g = buffer.createGraphics();
+            try {
+                frame.render(g, width, height);
+            } finally {
+                g.dispose();
+            }
+            return !buffer.contentsLost();
+        }
+    }
+
+    /**
+     * Copies the rendered frame to the screen. Runs on the event thread.
+     */
+    private void presentNow() {
+        if (thread == null || !view.isShowing()) {
+            presentPending.set(false);
+            return;
+        }
+        // Paints now rather than queueing a repaint Swing may merge with others, so frames keep their spacing
+        view.paintImmediately(0, 0, view.getWidth(), view.getHeight());
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
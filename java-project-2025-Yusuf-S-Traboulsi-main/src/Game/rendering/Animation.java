@@ -0,0 +1,60 @@
+package game.rendering;
+
+/**
+ * An immutable sequence of sprites shown one after another for a fixed time each.
+ * A single-frame animation is a still image.
+ */
+public final class Animation {
+    /**
+     * The sprites in the order they are shown.
+     */
+    private final Sprite[] frames;
+    /**
+     * How long each frame is shown, in seconds of game time.
+     */
+    private final float frameSeconds;
+
+    /**
+     * Creates an animation that loops through its frames.
+     *
+     * @param frameSeconds How long each frame is shown, in seconds of game time.
+     * @param frames       The sprites in the order they are shown.
+     */
+    public Animation(float frameSeconds, Sprite... frames) {
+        if (frames.length == 0 || frameSeconds <= 0) {
+            throw new IllegalArgumentException("An animation needs at least one frame and a positive frame time");
+        }
+        this.frames = frames.clone();
+        this.frameSeconds = frameSeconds;
+    }
+
+    /**
+     * Creates a still image.
+     *
+     * @param frame The only sprite.
+     * @return The single-frame animation.
+     */
+    public static Animation still(Sprite frame) {
+        return new Animation(Float.MAX_VALUE, frame);
+    }
+
+    /**
+     * Gets which frame is shown a given time after the animation started, wrapping around at the end.
+     *
+     * @param seconds The time since the animation started, in seconds of game time.
+     * @return The index of the frame.
+     */
+    int frameAt(float seconds) {
+        return frames.length == 1 ? 0 : (int) (seconds / frameSeconds) % frames.length;
+    }
+
+    /**
+     * Gets a frame.
+     *
+     * @param index The index of the frame.
+     * @return The frame's sprite.
+     */
+    Sprite frame(int index) {
+        return frames[index];
+    }
+}
@@ -0,0 +1,141 @@
+package game.rendering;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Plays one of a set of named animations, such as a character's idle, walk and jump cycles.
+ * Frames advance with game time rather than with physics steps, and the current sprite is only
+ * replaced when the visible frame actually changes.
+ *
+ * @param <S> The enum of animation states.
+ */
+public final class Animator<S extends Enum<S>> {
+    /**
+     * The animation played in each state.
+     */
+    private final Map<S, Animation> animations;
+    /**
+     * The state being played.
+     */
+    private S state;
+    /**
+     * The time spent in the current state, in seconds of game time.
+     */
+    private float time;
+    /**
+     * The index of the frame being shown in the current state's animation.
+     */
+    private int frame;
+    /**
+     * The sprite being shown. Written by the simulation thread and read when the world is captured for drawing.
+     */
+    private volatile Sprite sprite;
+
+    /**
+     * Creates an animator for a set of states.
+     *
+     * @param states  The enum class of the states.
+     * @param initial The state to start in. Its animation must be added with {@link #define(Enum, Animation)}
+     *                before the animator is used.
+     */
+    public Animator(Class<S> states, S initial) {
+        this.animations = new EnumMap<>(states);
+        this.state = initial;
+    }
+
+    /**
+     * Sets the animation played in a state.
+     *
+     * @param state     The state.
+     * @param animation The animation to play in it.
+     * @return This animator, so states can be defined in a chain.
+     */
+    public Animator<S> define(S state, Animation animation) {
+        animations.put(state, animation);
+        if (state == this.state) {
+            sprite = animation.frame(frame);
+        }
+        return this;
+    }
+
+    /**
+     * Switches to a state, starting its animation from the first frame. Does nothing if it is already playing.
+     *
+     * @param state The state to play.
+     */
+    public void play(S state) {
+        if (state != this.state) {
+            this.state = state;
+            time = 0;
+            show(0);
+        }
+    }
+
+    /**
+     * Advances the current animation.
+     *
+     * @param seconds The game time that has passed, in seconds.
+     */
+    public void advance(float seconds) {
+        time += seconds;
+        int next = animations.get(state).frameAt(time);
+        if (next != frame) {
+            show(next);
+        }
+    }
+
+    /**
+     * Gets the state being played.
+     *
+     * @return The current state.
+     */
+    public S getState() {
+        return state;
+    }
+
+    /**
+     * Gets the sprite for the frame being shown.
+     *
+     * @return The current sprite.
+     */
+    public Sprite getSprite() {
+        return sprite;
+    }
+
+    /**
+     * Writes the state and how far through its animation the animator is.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the state cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(state.ordinal());
+        out.writeFloat(time);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If the state cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        state = state.getDeclaringClass().getEnumConstants()[in.readInt()];
+        time = in.readFloat();
+        show(animations.get(state).frameAt(time));
+    }
+
+    /**
+     * Shows a frame of the current state's animation.
+     *
+     * @param index The index of the frame.
+     */
+    private void show(int index) {
+        frame = index;
+        sprite = animations.get(state).frame(index);
+    }
+}
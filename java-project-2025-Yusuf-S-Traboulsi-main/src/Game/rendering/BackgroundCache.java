@@ -0,0 +1,95 @@
+package game.rendering;
+
+import game.assets.AssetRegistry;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Holds a view's background image already scaled to the view's size, in a format the display can draw directly.
+ * Background files are decoded through the {@link AssetRegistry}, in the scope of the level that chose them,
+ * so each is decoded once however many views show it. The scaled copy is only made again when the view is
+ * resized or moves to a different screen, so painting the background is a single unscaled image copy per frame.
+ */
+public class BackgroundCache {
+    /**
+     * The resource path of the background being shown, or {@code null} for none.
+     */
+    private String path;
+    /**
+     * The asset scope that was current when the background was set, which claims the decoded image.
+     */
+    private String scope;
+    /**
+     * The background scaled to the view, or {@code null} if it has not been made yet.
+     */
+    private BufferedImage scaled;
+    /**
+     * The graphics configuration the scaled image was made for, or {@code null} if it was made off screen.
+     */
+    private GraphicsConfiguration scaledFor;
+
+    /**
+     * Sets the background to show. The image is decoded and scaled the first time it is painted.
+     *
+     * @param path The resource path of the background image.
+     */
+    public void setImage(String path) {
+        if (!path.equals(this.path)) {
+            this.path = path;
+            scope = AssetRegistry.currentScope();
+            scaled = null;
+        }
+    }
+
+    /**
+     * Gets the background scaled to a view's size, making it first if the size or screen has changed.
+     *
+     * @param config The view's graphics configuration, or {@code null} if the view is not on screen.
+     * @param width  The view's width.
+     * @param height The view's height.
+     * @return The scaled background, or {@code null} if there is none or it could not be loaded.
+     */
+    public BufferedImage get(GraphicsConfiguration config, int width, int height) {
+        if (path == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        if (scaled == null || scaled.getWidth() != width || scaled.getHeight() != height || scaledFor != config) {
+            BufferedImage source = AssetRegistry.image(path, scope);
+            if (source == null) {
+                path = null; // Do not retry the failed load on every frame
+                return null;
+            }
+            scaled = scale(source, config, width, height);
+            scaledFor = config;
+        }
+        return scaled;
+    }
+
+    /**
+     * Draws an image into a new opaque one of the given size that matches the display's pixel format.
+     *
+     * @param source The image to scale.
+     * @param config The display's graphics configuration, or {@code null} to make a plain image.
+     * @param width  The width to scale to.
+     * @param height The height to scale to.
+     * @return The scaled image.
+     */
+    private static BufferedImage scale(BufferedImage source, GraphicsConfiguration config, int width, int height) {
+        // Backgrounds cover the whole view, so any alpha channel in the file is dropped for the fastest copy
+        BufferedImage target = config != null
+                ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
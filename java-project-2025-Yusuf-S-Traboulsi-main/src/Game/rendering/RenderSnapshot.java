@@ -0,0 +1,450 @@
+package game.rendering;
+
+import city.cs.engine.Body;
+import city.cs.engine.World;
+import org.jbox2d.common.Vec2;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A copy of everything needed to draw one physics step.
+ * Snapshots are captured on the simulation thread after each step and painted on the Swing event
+ * thread, so the view never reads a world that is being stepped.
+ * Each snapshot also keeps the transforms from the step before, so frames drawn between two steps
+ * can be interpolated instead of snapping to the latest step.
+ * <p>
+ * The bodies are also indexed into columns along the x-axis, so a {@link WorldRenderer} can find
+ * the ones in view without looking at the rest of the level. {@link Scenery} is not captured at all:
+ * it is drawn into the level's {@link StaticLayer} by the first capture, which every later one shares.
+ * <p>
+ * Snapshots are reused from step to step so capturing one does not allocate. A published snapshot is not
+ * changed while anyone holds it: readers {@link #retain()} it before painting and {@link #release()} it after,
+ * and the simulation only captures into snapshots that are neither held nor the latest.
+ */
+public final class RenderSnapshot {
+    /**
+     * The width of each column of the spatial index, in world units: about a fifth of the view.
+     */
+    private static final float CELL_WIDTH = 8f;
+
+    /**
+     * The number of readers holding this snapshot.
+     */
+    private final AtomicInteger readers = new AtomicInteger();
+    /**
+     * The physics step this snapshot was captured after.
+     */
+    private long step;
+    /**
+     * The {@link System#nanoTime()} at which the snapshot was captured.
+     */
+    private long capturedNanos;
+    /**
+     * The world x-coordinate the camera is centred on.
+     */
+    private float cameraX;
+    /**
+     * The camera x-coordinate at the previous step.
+     */
+    private float previousCameraX;
+    /**
+     * The number of bodies in the snapshot.
+     */
+    private int count;
+    /**
+     * The number of static bodies, which come first and are drawn beneath the dynamic ones.
+     */
+    private int staticCount;
+    /**
+     * The sprite of each body.
+     */
+    private Sprite[] sprites = new Sprite[0];
+    /**
+     * The x-coordinate of each body.
+     */
+    private float[] x = new float[0];
+    /**
+     * The y-coordinate of each body.
+     */
+    private float[] y = new float[0];
+    /**
+     * The angle of each body in radians.
+     */
+    private float[] angle = new float[0];
+    /**
+     * The x-coordinate of each body at the previous step.
+     */
+    private float[] previousX = new float[0];
+    /**
+     * The y-coordinate of each body at the previous step.
+     */
+    private float[] previousY = new float[0];
+    /**
+     * The angle of each body at the previous step.
+     */
+    private float[] previousAngle = new float[0];
+    /**
+     * The captured bodies, hashed by identity, used to find their previous transforms in the next capture.
+     * An open-addressed table whose length is a power of two; only read and written on the simulation thread.
+     */
+    private Body[] indexBodies = new Body[0];
+    /**
+     * The index of the body in the same slot of {@link #indexBodies}.
+     */
+    private int[] indexSlots = new int[0];
+    /**
+     * The x-coordinate of the left edge of the first index column.
+     */
+    private float gridMinX;
+    /**
+     * The number of index columns.
+     */
+    private int cells;
+    /**
+     * Where each column's bodies start in {@link #cellOrder}; entry {@link #cells} is the body count.
+     */
+    private int[] cellStart = new int[1];
+    /**
+     * The body indices grouped by column, in capture order within each column.
+     */
+    private int[] cellOrder = new int[0];
+    /**
+     * Where the next body of each column goes while the index is being built.
+     */
+    private int[] cellNext = new int[0];
+    /**
+     * The largest sprite radius in the snapshot, by which a query is widened to catch sprites overlapping the view.
+     */
+    private float maxRadius;
+    /**
+     * The level's scenery, drawn beneath the captured bodies.
+     */
+    private StaticLayer staticLayer;
+
+    /**
+     * Gets the index column an x-coordinate falls in.
+     *
+     * @param worldX The x-coordinate, no further left than {@link #gridMinX}.
+     * @return The column.
+     */
+    private int cell(float worldX) {
+        return (int) ((worldX - gridMinX) / CELL_WIDTH);
+    }
+
+    /**
+     * Captures the renderable bodies of a world into this snapshot, replacing what it held.
+     * Must be called on the thread that steps the world, and never on a snapshot that is held or is {@code previous}.
+     * Static bodies are captured before dynamic ones so that moving bodies are drawn on top.
+     *
+     * @param world    The world to capture.
+     * @param step     The number of steps the world has taken.
+     * @param cameraX  The world x-coordinate the camera should centre on.
+     * @param previous The snapshot of the previous step, or {@code null} for the first capture,
+     *                 which also draws the world's scenery.
+     */
+    public void capture(World world, long step, float cameraX, RenderSnapshot previous) {
+        this.step = step;
+        this.cameraX = cameraX;
+        this.previousCameraX = previous != null ? previous.cameraX : cameraX;
+        this.staticLayer = previous != null ? previous.staticLayer : StaticLayer.build(world);
+        List<? extends Body> statics = world.getStaticBodies();
+        List<? extends Body> dynamics = world.getDynamicBodies();
+        ensureCapacity(statics.size() + dynamics.size());
+
+        count = 0;
+        addBodies(statics, previous);
+        staticCount = count;
+        addBodies(dynamics, previous);
+        buildIndex();
+        this.capturedNanos = System.nanoTime();
+    }
+
+    /**
+     * Grows the arrays to hold a number of bodies, and empties the identity table.
+     *
+     * @param capacity The most bodies the capture can hold.
+     */
+    private void ensureCapacity(int capacity) {
+        if (x.length < capacity) {
+            sprites = new Sprite[capacity];
+            x = new float[capacity];
+            y = new float[capacity];
+            angle = new float[capacity];
+            previousX = new float[capacity];
+            previousY = new float[capacity];
+            previousAngle = new float[capacity];
+            cellOrder = new int[capacity];
+        }
+        int slots = Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) << 1; // At most half full
+        if (indexBodies.length < slots) {
+            indexBodies = new Body[slots];
+            indexSlots = new int[slots];
+        } else {
+            Arrays.fill(indexBodies, null);
+        }
+    }
+
+    /**
+     * Adds the renderable bodies of a list, taking their previous transforms from the previous snapshot.
+     *
+     * @param bodies   The bodies.
+     * @param previous The snapshot of the previous step, or {@code null}.
+     */
+    private void addBodies(List<? extends Body> bodies, RenderSnapshot previous) {
+        for (int b = 0, n = bodies.size(); b < n; b++) {
+            Body body = bodies.get(b);
+            if (body instanceof Renderable renderable && !(body instanceof Scenery)) {
+                Sprite sprite = renderable.getSprite();
+                if (sprite != null) {
+                    Vec2 position = body.getPosition();
+                    sprites[count] = sprite;
+                    x[count] = position.x;
+                    y[count] = position.y;
+                    angle[count] = body.getAngle();
+
+                    // Bodies that did not exist at the previous step are drawn where they are
+                    int before = previous != null ? previous.indexOf(body) : -1;
+                    previousX[count] = before >= 0 ? previous.x[before] : x[count];
+                    previousY[count] = before >= 0 ? previous.y[before] : y[count];
+                    previousAngle[count] = before >= 0 ? previous.angle[before] : angle[count];
+                    put(body, count);
+                    count++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a body's index in the identity table.
+     *
+     * @param body The body.
+     * @param i    Its index in this snapshot.
+     */
+    private void put(Body body, int i) {
+        int mask = indexBodies.length - 1;
+        int slot = System.identityHashCode(body) & mask;
+        while (indexBodies[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        indexBodies[slot] = body;
+        indexSlots[slot] = i;
+    }
+
+    /**
+     * Finds a body's index in this snapshot.
+     *
+     * @param body The body.
+     * @return Its index, or -1 if it was not captured.
+     */
+    private int indexOf(Body body) {
+        int mask = indexBodies.length - 1;
+        int slot = System.identityHashCode(body) & mask;
+        Body held;
+        while ((held = indexBodies[slot]) != null) {
+            if (held == body) {
+                return indexSlots[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Buckets the bodies into index columns with a counting sort, so building the index is linear.
+     */
+    private void buildIndex() {
+        float minX = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float radius = 0;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            radius = Math.max(radius, sprites[i].getRadius());
+        }
+        gridMinX = count > 0 ? minX : 0;
+        maxRadius = radius;
+        cells = count > 0 ? cell(maxX) + 1 : 0;
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+            cellNext = new int[cells];
+        } else {
+            Arrays.fill(cellStart, 0, cells + 1, 0);
+        }
+        for (int i = 0; i < count; i++) {
+            cellStart[cell(x[i]) + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        System.arraycopy(cellStart, 0, cellNext, 0, cells);
+        for (int i = 0; i < count; i++) {
+            cellOrder[cellNext[cell(x[i])]++] = i;
+        }
+    }
+
+    /**
+     * Holds the snapshot so the simulation does not capture into it while it is being read.
+     * Every call must be matched by a {@link #release()}.
+     */
+    public void retain() {
+        readers.incrementAndGet();
+    }
+
+    /**
+     * Lets the simulation capture into the snapshot again once no one else holds it.
+     */
+    public void release() {
+        readers.decrementAndGet();
+    }
+
+    /**
+     * Checks whether anyone is reading the snapshot.
+     *
+     * @return {@code true} if it has been retained and not yet released.
+     */
+    public boolean isRetained() {
+        return readers.get() > 0;
+    }
+
+    /**
+     * Gets the physics step this snapshot was captured after.
+     *
+     * @return The step number.
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Gets the time at which the snapshot was captured.
+     *
+     * @return The {@link System#nanoTime()} of the capture.
+     */
+    public long getCapturedNanos() {
+        return capturedNanos;
+    }
+
+    /**
+     * Gets the camera x-coordinate between the previous and the current step.
+     *
+     * @param alpha How far between the two steps to sample, from 0 (previous) to 1 (current).
+     * @return The interpolated camera x-coordinate.
+     */
+    public float getCameraX(float alpha) {
+        return lerp(previousCameraX, cameraX, alpha);
+    }
+
+    /**
+     * Lists the bodies whose sprites may overlap a horizontal band of the world, in capture order within
+     * each index column. Bodies in the columns near the band are returned even if they turn out to be
+     * slightly outside it, so callers should still check each one.
+     *
+     * @param left  The x-coordinate of the left edge of the band.
+     * @param right The x-coordinate of the right edge of the band.
+     * @param into  The array to write body indices to; must have room for {@link #size()} entries.
+     * @return The number of body indices written.
+     */
+    int query(float left, float right, int[] into) {
+        if (count == 0) {
+            return 0;
+        }
+        // Widened by the largest sprite, and by a cell for bodies that moved since the previous step
+        int first = Math.max(0, (int) Math.floor((left - maxRadius - gridMinX) / CELL_WIDTH) - 1);
+        int last = Math.min(cells - 1, (int) Math.floor((right + maxRadius - gridMinX) / CELL_WIDTH) + 1);
+        if (first > last) {
+            return 0;
+        }
+        int n = cellStart[last + 1] - cellStart[first];
+        System.arraycopy(cellOrder, cellStart[first], into, 0, n);
+        return n;
+    }
+
+    /**
+     * Gets the level's scenery.
+     *
+     * @return The static layer shared by every snapshot of the level.
+     */
+    StaticLayer getStaticLayer() {
+        return staticLayer;
+    }
+
+    /**
+     * Gets the number of bodies in the snapshot.
+     *
+     * @return The body count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Checks whether a body is static, and so drawn beneath the dynamic bodies.
+     *
+     * @param i The body's index.
+     * @return {@code true} if the body is static.
+     */
+    boolean isStatic(int i) {
+        return i < staticCount;
+    }
+
+    /**
+     * Gets a body's sprite.
+     *
+     * @param i The body's index.
+     * @return The sprite.
+     */
+    Sprite sprite(int i) {
+        return sprites[i];
+    }
+
+    /**
+     * Gets a body's x-coordinate between the previous and the current step.
+     *
+     * @param i     The body's index.
+     * @param alpha How far between the two steps to sample, from 0 (previous) to 1 (current).
+     * @return The interpolated x-coordinate.
+     */
+    float x(int i, float alpha) {
+        return lerp(previousX[i], x[i], alpha);
+    }
+
+    /**
+     * Gets a body's y-coordinate between the previous and the current step.
+     *
+     * @param i     The body's index.
+     * @param alpha How far between the two steps to sample, from 0 (previous) to 1 (current).
+     * @return The interpolated y-coordinate.
+     */
+    float y(int i, float alpha) {
+        return lerp(previousY[i], y[i], alpha);
+    }
+
+    /**
+     * Gets a body's angle between the previous and the current step.
+     *
+     * @param i     The body's index.
+     * @param alpha How far between the two steps to sample, from 0 (previous) to 1 (current).
+     * @return The interpolated angle in radians.
+     */
+    float angle(int i, float alpha) {
+        float turn = angle[i] - previousAngle[i];
+        if (Math.abs(turn) > Math.PI) {
+            turn = (float) Math.IEEEremainder(turn, 2 * Math.PI); // Wrapped through pi, so go the short way round
+        }
+        return previousAngle[i] + turn * alpha;
+    }
+
+    /**
+     * Linearly interpolates between two values.
+     *
+     * @param from  The value at alpha 0.
+     * @param to    The value at alpha 1.
+     * @param alpha The interpolation factor.
+     * @return The interpolated value.
+     */
+    private static float lerp(float from, float to, float alpha) {
+        return from + (to - from) * alpha;
+    }
+}
@@ -0,0 +1,15 @@
+package game.rendering;
+
+/**
+ * A body that can be drawn by the game's renderer.
+ * Bodies expose the sprite for their current frame; the simulation thread reads it after each step
+ * and copies it into a {@link RenderSnapshot}.
+ */
+public interface Renderable {
+    /**
+     * Gets the sprite for the body's current frame.
+     *
+     * @return The sprite to draw, or {@code null} to draw nothing.
+     */
+    Sprite getSprite();
+}
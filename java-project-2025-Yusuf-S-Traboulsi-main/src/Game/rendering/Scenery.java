@@ -0,0 +1,9 @@
+package game.rendering;
+
+/**
+ * A body that never moves, never changes its sprite and is never destroyed, such as a ground tile.
+ * Scenery is drawn once into a {@link StaticLayer} when a level starts instead of being captured
+ * and drawn as a separate body every frame.
+ */
+public interface Scenery extends Renderable {
+}
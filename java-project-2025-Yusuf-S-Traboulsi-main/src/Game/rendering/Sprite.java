@@ -0,0 +1,297 @@
+package game.rendering;
+
+import game.assets.AssetRegistry;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * An immutable picture of a body in world units.
+ * A sprite is either a decoded image scaled to a height in world units, or a filled outline
+ * for bodies that have no image. Sprites are drawn centred on the body's position.
+ * An image sprite drawn upright keeps a copy of its image scaled to the size it was last drawn at,
+ * so while the zoom stays the same each draw is a plain copy rather than a resample through the view's transform.
+ */
+public abstract class Sprite {
+    /**
+     * The batch number of each image sprites are drawn from, so sprites sharing a sheet can be drawn together.
+     * Held weakly, so an image evicted from the {@link AssetRegistry} is not kept alive by its number.
+     * Images do not override {@code equals}, so the keys still compare by identity.
+     */
+    private static final Map<BufferedImage, Integer> batches = new WeakHashMap<>();
+    /**
+     * The last batch number given out. Numbers are never reused, so a new image cannot share an evicted one's.
+     */
+    private static int lastBatch;
+    /**
+     * The largest width or height, in pixels, an image sprite keeps a scaled copy of; larger ones are resampled.
+     */
+    private static final int MAX_SCALED_SIZE = 1024;
+    /**
+     * How far a turned sprite's corners may be from upright, in pixels, for it to still be drawn from its scaled copy.
+     */
+    private static final double UPRIGHT_TOLERANCE = 0.1;
+    /**
+     * The transform the scaled copies are drawn with: straight to device pixels.
+     */
+    private static final AffineTransform DEVICE = new AffineTransform();
+
+    /**
+     * The distance from the body's position to the furthest point of the sprite, in world units.
+     */
+    private final float radius;
+    /**
+     * The batch this sprite is drawn in: the same for every sprite drawn from the same image, and 0 for outlines.
+     */
+    private final int batch;
+
+    /**
+     * Creates a sprite.
+     *
+     * @param radius The distance from the body's position to the furthest point of the sprite, in world units.
+     * @param batch  The batch the sprite is drawn in.
+     */
+    private Sprite(float radius, int batch) {
+        this.radius = radius;
+        this.batch = batch;
+    }
+
+    /**
+     * Loads an image sprite from a class path resource, drawn from its region of a {@link SpriteAtlas} sheet
+     * if it was packed. Sprites are held by the {@link AssetRegistry} in the current scope, so loading the same
+     * image at the same height again returns the same sprite.
+     *
+     * @param path   The resource path of the image.
+     * @param height The height of the sprite in world units.
+     * @return The loaded sprite. It draws nothing if the resource could not be decoded.
+     */
+    public static Sprite load(String path, float height) {
+        return AssetRegistry.get("sprite:" + path + '@' + height, AssetRegistry.currentScope(), key -> {
+            SpriteAtlas.Region region = SpriteAtlas.find(path);
+            if (region == null) {
+                BufferedImage image = AssetRegistry.image(path);
+                region = image != null ? new SpriteAtlas.Region(image, 0, 0, image.getWidth(), image.getHeight()) : null;
+            }
+            return new ImageSprite(region, height);
+        });
+    }
+
+    /**
+     * Creates an outline sprite that fills the union of the given shapes.
+     *
+     * @param fill  The fill colour.
+     * @param line  The outline colour.
+     * @param parts The shapes, in body coordinates.
+     * @return The outline sprite.
+     */
+    public static Sprite outline(Color fill, Color line, Shape... parts) {
+        Area area = new Area();
+        for (Shape part : parts) {
+            area.add(new Area(part));
+        }
+        return new OutlineSprite(area, fill, line);
+    }
+
+    /**
+     * Creates a box centred on the body, matching a {@code BoxShape} with the same half extents.
+     *
+     * @param halfWidth  Half the width of the box.
+     * @param halfHeight Half the height of the box.
+     * @return The box shape in body coordinates.
+     */
+    public static Shape box(float halfWidth, float halfHeight) {
+        return new Rectangle2D.Float(-halfWidth, -halfHeight, halfWidth * 2, halfHeight * 2);
+    }
+
+    /**
+     * Creates a polygon matching a {@code PolygonShape} with the same vertices.
+     *
+     * @param xy The vertex coordinates as x, y pairs.
+     * @return The polygon in body coordinates.
+     */
+    public static Shape polygon(float... xy) {
+        Path2D.Float path = new Path2D.Float();
+        path.moveTo(xy[0], xy[1]);
+        for (int i = 2; i < xy.length; i += 2) {
+            path.lineTo(xy[i], xy[i + 1]);
+        }
+        path.closePath();
+        return path;
+    }
+
+    /**
+     * Gets how far the sprite reaches from its body's position at any angle, for deciding whether it is on screen.
+     *
+     * @return The sprite's bounding radius in world units.
+     */
+    public float getRadius() {
+        return radius;
+    }
+
+    /**
+     * Gets the batch the sprite is drawn in. Drawing sprites of the same batch one after another
+     * keeps the renderer copying from the same image.
+     *
+     * @return The batch number, the same for every sprite drawn from the same image.
+     */
+    public int getBatch() {
+        return batch;
+    }
+
+    /**
+     * Gets the batch number for an image, numbering it if it has not been seen before.
+     *
+     * @param image The image.
+     * @return The image's batch number, from 1.
+     */
+    private static int batchOf(BufferedImage image) {
+        synchronized (batches) {
+            return batches.computeIfAbsent(image, key -> ++lastBatch);
+        }
+    }
+
+    /**
+     * Draws the sprite.
+     *
+     * @param g          The graphics context used for rendering.
+     * @param bodyToView The transform from body coordinates to view pixels.
+     */
+    public abstract void draw(Graphics2D g, AffineTransform bodyToView);
+
+    /**
+     * A sprite backed by a region of a decoded image, usually a sprite sheet.
+     */
+    private static final class ImageSprite extends Sprite {
+        /**
+         * The region of the image drawn, or {@code null} if it could not be loaded.
+         */
+        private final SpriteAtlas.Region region;
+        /**
+         * Maps image pixels to body coordinates, centred and flipped to world y-up.
+         */
+        private final AffineTransform local;
+        /**
+         * The image scaled to the size it was last drawn upright at, or {@code null} before then.
+         * Volatile as sprites are drawn by both the view and the thread that draws static layers.
+         */
+        private volatile BufferedImage scaled;
+
+        private ImageSprite(SpriteAtlas.Region region, float height) {
+            super(region != null ? (float) Math.hypot(height * region.width() / region.height(), height) / 2 : 0,
+                    region != null ? batchOf(region.sheet()) : 0);
+            this.region = region;
+            this.local = new AffineTransform();
+            if (region != null) {
+                float scale = height / region.height();
+                local.scale(scale, -scale);
+                local.translate(-region.width() / 2.0, -region.height() / 2.0);
+            }
+        }
+
+        @Override
+        public void draw(Graphics2D g, AffineTransform bodyToView) {
+            if (region == null) {
+                return;
+            }
+            AffineTransform saved = g.getTransform();
+            AffineTransform imageToDevice = new AffineTransform(saved);
+            imageToDevice.concatenate(bodyToView);
+            imageToDevice.concatenate(local);
+            int width = (int) Math.round(imageToDevice.getScaleX() * region.width());
+            int height = (int) Math.round(imageToDevice.getScaleY() * region.height());
+            boolean upright = Math.abs(imageToDevice.getShearX() * region.height()) < UPRIGHT_TOLERANCE
+                    && Math.abs(imageToDevice.getShearY() * region.width()) < UPRIGHT_TOLERANCE;
+            if (upright && width > 0 && height > 0 && width <= MAX_SCALED_SIZE && height <= MAX_SCALED_SIZE) {
+                g.setTransform(DEVICE);
+                g.drawImage(scaledTo(width, height, g), (int) Math.round(imageToDevice.getTranslateX()),
+                        (int) Math.round(imageToDevice.getTranslateY()), null);
+            } else {
+                // Turned, mirrored or very large: resample through the transform
+                g.setTransform(imageToDevice);
+                g.drawImage(region.sheet(), 0, 0, region.width(), region.height(),
+                        region.x(), region.y(), region.x() + region.width(), region.y() + region.height(), null);
+            }
+            g.setTransform(saved);
+        }
+
+        /**
+         * Gets the image scaled to a size, scaling it again if it was last drawn at another size.
+         *
+         * @param width  The width in device pixels.
+         * @param height The height in device pixels.
+         * @param g      The graphics context it will be drawn into, whose interpolation it is scaled with.
+         * @return The scaled image.
+         */
+        private BufferedImage scaledTo(int width, int height, Graphics2D g) {
+            BufferedImage cached = scaled;
+            if (cached != null && cached.getWidth() == width && cached.getHeight() == height) {
+                return cached;
+            }
+            BufferedImage image = g.getDeviceConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+            Graphics2D scaling = image.createGraphics();
+            Object interpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+            if (interpolation != null) {
+                scaling.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            }
+            scaling.setComposite(AlphaComposite.Src);
+            scaling.drawImage(region.sheet(), 0, 0, width, height,
+                    region.x(), region.y(), region.x() + region.width(), region.y() + region.height(), null);
+            scaling.dispose();
+            scaled = image;
+            return image;
+        }
+    }
+
+    /**
+     * A sprite that fills and outlines a shape, like CityEngine draws bodies without images.
+     */
+    private static final class OutlineSprite extends Sprite {
+        /**
+         * The shape in body coordinates.
+         */
+        private final Shape shape;
+        /**
+         * The fill colour.
+         */
+        private final Color fill;
+        /**
+         * The outline colour.
+         */
+        private final Color line;
+
+        private OutlineSprite(Shape shape, Color fill, Color line) {
+            super(radiusOf(shape), 0);
+            this.shape = shape;
+            this.fill = fill;
+            this.line = line;
+        }
+
+        /**
+         * Measures the distance from the origin to the furthest corner of a shape's bounds.
+         *
+         * @param shape The shape, in body coordinates.
+         * @return The shape's bounding radius.
+         */
+        private static float radiusOf(Shape shape) {
+            Rectangle2D bounds = shape.getBounds2D();
+            double x = Math.max(Math.abs(bounds.getMinX()), Math.abs(bounds.getMaxX()));
+            double y = Math.max(Math.abs(bounds.getMinY()), Math.abs(bounds.getMaxY()));
+            return (float) Math.hypot(x, y);
+        }
+
+        @Override
+        public void draw(Graphics2D g, AffineTransform bodyToView) {
+            Shape viewShape = bodyToView.createTransformedShape(shape);
+            g.setColor(fill);
+            g.fill(viewShape);
+            g.setColor(line);
+            g.draw(viewShape);
+        }
+    }
+}
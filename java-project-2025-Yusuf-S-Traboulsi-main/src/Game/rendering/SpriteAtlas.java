@@ -0,0 +1,95 @@
+package game.rendering;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Looks up images in the sprite sheets made by {@link SpriteAtlasPacker}.
+ * The sheets are decoded once, the first time any image is asked for, instead of opening and decoding
+ * every sprite file separately. Images that are not in a sheet, such as one added since the sheets were
+ * last packed, are read from their own file by the {@link game.assets.AssetRegistry}.
+ */
+public final class SpriteAtlas {
+    /**
+     * The resource directory holding the sheets and their index.
+     */
+    static final String DIRECTORY = "/game/resources/atlas/";
+    /**
+     * The name of the index file listing where each packed image is.
+     */
+    static final String INDEX = "sprites.index";
+
+    /**
+     * The packed images, by their original resource path.
+     */
+    private static final Map<String, Region> regions = loadIndex();
+
+    private SpriteAtlas() {
+    }
+
+    /**
+     * An image's place in a sprite sheet.
+     *
+     * @param sheet  The decoded sheet.
+     * @param x      The x position of the image in the sheet.
+     * @param y      The y position of the image in the sheet.
+     * @param width  The width of the image.
+     * @param height The height of the image.
+     */
+    public record Region(BufferedImage sheet, int x, int y, int width, int height) {
+    }
+
+    /**
+     * Finds where an image was packed.
+     *
+     * @param path The image's original resource path.
+     * @return The image's region, or {@code null} if it is not in any sheet.
+     */
+    public static Region find(String path) {
+        return regions.get(path);
+    }
+
+    /**
+     * Reads the index and decodes every sheet it names.
+     *
+     * @return The packed images by resource path, empty if there is no index or it could not be read.
+     */
+    private static Map<String, Region> loadIndex() {
+        Map<String, Region> regions = new HashMap<>();
+        InputStream in = SpriteAtlas.class.getResourceAsStream(DIRECTORY + INDEX);
+        if (in == null) {
+            return regions; // Not packed; every image is read from its own file
+        }
+        Map<String, BufferedImage> sheets = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                // <resource path> <sheet file> <x> <y> <width> <height>
+                String[] fields = line.trim().split("\\s+");
+                BufferedImage sheet = sheets.get(fields[1]);
+                if (sheet == null) {
+                    sheet = ImageIO.read(Objects.requireNonNull(
+                            SpriteAtlas.class.getResource(DIRECTORY + fields[1]), fields[1]));
+                    sheets.put(fields[1], sheet);
+                }
+                regions.put(fields[0], new Region(sheet, Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+                        Integer.parseInt(fields[4]), Integer.parseInt(fields[5])));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error loading sprite atlas: " + e.getMessage());
+            regions.clear(); // Fall back to the separate files rather than use a partly read index
+        }
+        return regions;
+    }
+}
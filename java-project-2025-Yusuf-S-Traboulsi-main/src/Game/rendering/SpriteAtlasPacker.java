@@ -0,0 +1,202 @@
+package game.rendering;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Packs the game's sprite images into a few large sheets for {@link SpriteAtlas}.
+ * Run it from the project directory after adding or changing a sprite:
+ * <pre>java -cp out game.rendering.SpriteAtlasPacker [resources directory]</pre>
+ * Images are placed on shelves, tallest first, and the sheets and index are written to the
+ * {@code atlas} directory inside the resources directory.
+ */
+public final class SpriteAtlasPacker {
+    /**
+     * The resource directories whose PNG images are packed.
+     */
+    private static final String[] DIRECTORIES = {"playerOne", "enemies", "hud", "gem", "Door", "platform"};
+    /**
+     * The width of every sheet.
+     */
+    private static final int SHEET_WIDTH = 1024;
+    /**
+     * The height a sheet may grow to before the next image starts a new sheet.
+     */
+    private static final int MAX_SHEET_HEIGHT = 1024;
+    /**
+     * Transparent pixels left between images.
+     */
+    private static final int PADDING = 1;
+
+    private SpriteAtlasPacker() {
+    }
+
+    /**
+     * An image to pack and where it was placed.
+     */
+    private static final class Entry {
+        /**
+         * The image's resource path, as passed to {@link Sprite#load(String, float)}.
+         */
+        private final String path;
+        /**
+         * The decoded image.
+         */
+        private final BufferedImage image;
+        /**
+         * The index of the sheet the image was placed in.
+         */
+        private int sheet;
+        /**
+         * The x position of the image in its sheet.
+         */
+        private int x;
+        /**
+         * The y position of the image in its sheet.
+         */
+        private int y;
+
+        private Entry(String path, BufferedImage image) {
+            this.path = path;
+            this.image = image;
+        }
+    }
+
+    /**
+     * Packs the sprites and writes the sheets and index.
+     *
+     * @param args The resources directory, {@code src/Game/resources} if not given.
+     * @throws IOException If an image cannot be read or the sheets cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path resources = Paths.get(args.length > 0 ? args[0] : "src/Game/resources");
+        List<Entry> entries = collect(resources);
+        int sheets = pack(entries);
+
+        Path output = resources.resolve("atlas");
+        Files.createDirectories(output);
+        for (int sheet = 0; sheet < sheets; sheet++) {
+            ImageIO.write(draw(entries, sheet), "png", output.resolve(sheetName(sheet)).toFile());
+        }
+        try (PrintWriter index = new PrintWriter(Files.newBufferedWriter(output.resolve(SpriteAtlas.INDEX), StandardCharsets.UTF_8))) {
+            index.println("# Written by SpriteAtlasPacker; run it again after changing a sprite");
+            index.println("# <resource path> <sheet file> <x> <y> <width> <height>");
+            for (Entry entry : entries) {
+                index.printf("%s %s %d %d %d %d%n", entry.path, sheetName(entry.sheet), entry.x, entry.y,
+                        entry.image.getWidth(), entry.image.getHeight());
+            }
+        }
+        System.out.println("Packed " + entries.size() + " images into " + sheets + " sheet(s) in " + output);
+    }
+
+    /**
+     * Decodes every PNG image in the packed directories.
+     *
+     * @param resources The resources directory.
+     * @return The images, sorted tallest first so each shelf wastes little height.
+     * @throws IOException If a directory cannot be listed or an image cannot be read.
+     */
+    private static List<Entry> collect(Path resources) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (String directory : DIRECTORIES) {
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(resources.resolve(directory))) {
+                files = walk.filter(file -> file.toString().endsWith(".png")).sorted().toList();
+            }
+            for (Path file : files) {
+                BufferedImage image = ImageIO.read(file.toFile());
+                if (image == null) {
+                    throw new IOException("Not a readable image: " + file);
+                }
+                String path = "/game/resources/" + resources.relativize(file).toString().replace('\\', '/');
+                entries.add(new Entry(path, image));
+            }
+        }
+        entries.sort(Comparator.comparingInt((Entry entry) -> entry.image.getHeight()).reversed()
+                .thenComparing(entry -> entry.path));
+        return entries;
+    }
+
+    /**
+     * Places the images on shelves across the sheets.
+     *
+     * @param entries The images, tallest first.
+     * @return The number of sheets used.
+     */
+    private static int pack(List<Entry> entries) {
+        int sheet = 0;
+        int x = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+        for (Entry entry : entries) {
+            int width = entry.image.getWidth() + PADDING;
+            int height = entry.image.getHeight() + PADDING;
+            if (x + width > SHEET_WIDTH) {
+                x = 0; // Start a new shelf
+                shelfY += shelfHeight;
+                shelfHeight = 0;
+            }
+            if (shelfY + height > MAX_SHEET_HEIGHT && shelfY > 0) {
+                sheet++; // Start a new sheet
+                x = 0;
+                shelfY = 0;
+                shelfHeight = 0;
+            }
+            entry.sheet = sheet;
+            entry.x = x;
+            entry.y = shelfY;
+            x += width;
+            shelfHeight = Math.max(shelfHeight, height);
+        }
+        return entries.isEmpty() ? 0 : sheet + 1;
+    }
+
+    /**
+     * Draws one sheet, only as tall as the images placed on it need.
+     *
+     * @param entries The placed images.
+     * @param sheet   The index of the sheet to draw.
+     * @return The sheet.
+     */
+    private static BufferedImage draw(List<Entry> entries, int sheet) {
+        int height = 1;
+        for (Entry entry : entries) {
+            if (entry.sheet == sheet) {
+                height = Math.max(height, entry.y + entry.image.getHeight());
+            }
+        }
+        BufferedImage image = new BufferedImage(SHEET_WIDTH, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            for (Entry entry : entries) {
+                if (entry.sheet == sheet) {
+                    g.drawImage(entry.image, entry.x, entry.y, null);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Gets the file name of a sheet.
+     *
+     * @param sheet The index of the sheet.
+     * @return The sheet's file name.
+     */
+    private static String sheetName(int sheet) {
+        return "sprites" + sheet + ".png";
+    }
+}
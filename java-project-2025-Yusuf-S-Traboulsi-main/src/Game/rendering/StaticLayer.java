@@ -0,0 +1,286 @@
+package game.rendering;
+
+import city.cs.engine.Body;
+import city.cs.engine.World;
+import org.jbox2d.common.Vec2;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A level's {@link Scenery} drawn into a grid of large images.
+ * The layer is made once per level, and painting it copies only the tiles that overlap the view,
+ * one image each, however many bodies they contain.
+ * The tiles are drawn for one zoom at a time. When the view's zoom changes, as it does while the window is
+ * resized, the old tiles are stretched to the new zoom and the new ones are drawn on a background thread once the
+ * zoom has stopped changing, so resizing never waits for the level to be redrawn.
+ */
+public final class StaticLayer {
+    /**
+     * The zoom the tiles are first drawn at: CityEngine's default of 20 pixels per world unit.
+     */
+    public static final float DEFAULT_ZOOM = 20f;
+    /**
+     * The width and height of each tile, in pixels.
+     */
+    private static final int TILE_SIZE = 512;
+    /**
+     * How long the zoom must stay the same before the tiles are drawn again for it, in milliseconds.
+     */
+    private static final long RETILE_DELAY_MS = 150;
+    /**
+     * Draws tiles for a new zoom off the paint thread, for every level's layer in turn.
+     */
+    private static final ScheduledExecutorService retiler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "static-layer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY); // Stretched tiles are shown meanwhile, so this can wait its turn
+        return thread;
+    });
+
+    /**
+     * The sprite of each piece of scenery.
+     */
+    private final Sprite[] sprites;
+    /**
+     * The x-coordinate of each piece of scenery.
+     */
+    private final float[] x;
+    /**
+     * The y-coordinate of each piece of scenery.
+     */
+    private final float[] y;
+    /**
+     * The angle of each piece of scenery in radians.
+     */
+    private final float[] angle;
+    /**
+     * The world x-coordinate of the layer's left edge.
+     */
+    private final float left;
+    /**
+     * The world y-coordinate of the layer's top edge.
+     */
+    private final float top;
+    /**
+     * The width of the layer in world units.
+     */
+    private final float width;
+    /**
+     * The height of the layer in world units.
+     */
+    private final float height;
+    /**
+     * The tiles for the zoom they were last drawn at.
+     * Volatile because they are replaced on the retiling thread and read wherever the view paints.
+     */
+    private volatile Tiles tiles;
+    /**
+     * The zoom the view last asked for. Volatile so painting can compare against it without taking the lock.
+     */
+    private volatile float wantedZoom;
+    /**
+     * The pending redraw of the tiles for {@link #wantedZoom}, or {@code null} if none is pending.
+     * Guarded by this layer's lock.
+     */
+    private ScheduledFuture<?> retile;
+
+    /**
+     * The tiles drawn at one zoom.
+     *
+     * @param zoom   The number of pixels per world unit they were drawn at.
+     * @param images The tile images by row and column; a tile with nothing in it is {@code null}.
+     *               Tiles in the bottom row may be shorter than the others.
+     */
+    record Tiles(float zoom, BufferedImage[][] images) {
+    }
+
+    private StaticLayer(List<Body> bodies) {
+        int count = bodies.size();
+        sprites = new Sprite[count];
+        x = new float[count];
+        y = new float[count];
+        angle = new float[count];
+        float minX = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            Body body = bodies.get(i);
+            Vec2 position = body.getPosition();
+            sprites[i] = ((Scenery) body).getSprite();
+            x[i] = position.x;
+            y[i] = position.y;
+            angle[i] = body.getAngle();
+            float radius = sprites[i].getRadius();
+            minX = Math.min(minX, x[i] - radius);
+            maxX = Math.max(maxX, x[i] + radius);
+            minY = Math.min(minY, y[i] - radius);
+            maxY = Math.max(maxY, y[i] + radius);
+        }
+        left = count > 0 ? minX : 0;
+        top = count > 0 ? maxY : 0;
+        width = count > 0 ? maxX - minX : 0;
+        height = count > 0 ? maxY - minY : 0;
+    }
+
+    /**
+     * Collects the scenery of a world and draws it at the default zoom.
+     * Must be called on the thread that steps the world.
+     *
+     * @param world The world, as its level has just built it.
+     * @return The world's static layer.
+     */
+    public static StaticLayer build(World world) {
+        List<Body> scenery = new ArrayList<>();
+        for (Body body : world.getStaticBodies()) {
+            if (body instanceof Scenery piece && piece.getSprite() != null) {
+                scenery.add(body);
+            }
+        }
+        StaticLayer layer = new StaticLayer(scenery);
+        layer.tiles = layer.draw(DEFAULT_ZOOM);
+        layer.wantedZoom = DEFAULT_ZOOM;
+        return layer;
+    }
+
+    /**
+     * Draws the tiles that overlap the view. If the tiles were drawn at another zoom they are stretched to this
+     * one, and tiles for this zoom are asked for.
+     *
+     * @param g          The graphics context used for rendering.
+     * @param cameraX    The world x-coordinate the view is centred on; the view is centred on y = 0.
+     * @param zoom       The number of pixels per world unit.
+     * @param viewWidth  The view's width in pixels.
+     * @param viewHeight The view's height in pixels.
+     */
+    void paint(Graphics2D g, float cameraX, float zoom, int viewWidth, int viewHeight) {
+        if (zoom != wantedZoom) {
+            requestTiles(zoom);
+        }
+        Tiles current = tiles;
+        BufferedImage[][] images = current.images();
+        if (images.length == 0) {
+            return;
+        }
+        // Where the layer's top-left corner falls in the view, rounded so the tiles meet without seams
+        int originX = Math.round(viewWidth / 2f + (left - cameraX) * zoom);
+        int originY = Math.round(viewHeight / 2f - top * zoom);
+        float span = TILE_SIZE * zoom / current.zoom(); // A tile's size in view pixels; TILE_SIZE unless stretched
+        int firstColumn = Math.max(0, (int) Math.floor(-originX / span));
+        int lastColumn = Math.min(images[0].length - 1, (int) Math.floor((viewWidth - originX) / span));
+        int firstRow = Math.max(0, (int) Math.floor(-originY / span));
+        int lastRow = Math.min(images.length - 1, (int) Math.floor((viewHeight - originY) / span));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                BufferedImage tile = images[row][column];
+                if (tile == null) {
+                    continue;
+                }
+                if (current.zoom() == zoom) {
+                    g.drawImage(tile, originX + column * TILE_SIZE, originY + row * TILE_SIZE, null);
+                } else {
+                    // Each edge rounded from the same positions as its neighbour's, so stretched tiles still meet
+                    int x0 = originX + Math.round(column * span);
+                    int y0 = originY + Math.round(row * span);
+                    int x1 = originX + Math.round((column + 1) * span);
+                    int y1 = originY + Math.round(row * span + tile.getHeight() * span / TILE_SIZE);
+                    g.drawImage(tile, x0, y0, x1 - x0, y1 - y0, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Asks for tiles drawn at a zoom, replacing any request for another zoom.
+     * They are drawn on the retiling thread once the zoom has stayed the same for {@value #RETILE_DELAY_MS} ms,
+     * so a window being dragged to a new size only has its level redrawn once.
+     *
+     * @param zoom The number of pixels per world unit.
+     */
+    private synchronized void requestTiles(float zoom) {
+        if (zoom == wantedZoom) {
+            return; // Asked for by another paint meanwhile
+        }
+        wantedZoom = zoom;
+        if (retile != null) {
+            retile.cancel(false);
+            retile = null;
+        }
+        if (tiles.zoom() != zoom) {
+            retile = retiler.schedule(() -> retile(zoom), RETILE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Draws the tiles for a zoom and shows them, unless the view has asked for another zoom while they were drawn.
+     * Runs on the retiling thread.
+     *
+     * @param zoom The number of pixels per world unit.
+     */
+    private void retile(float zoom) {
+        Tiles drawn = draw(zoom);
+        synchronized (this) {
+            if (zoom == wantedZoom) {
+                tiles = drawn;
+                retile = null;
+            }
+        }
+    }
+
+    /**
+     * Draws the scenery into new tiles.
+     *
+     * @param zoom The number of pixels per world unit.
+     * @return The tiles.
+     */
+    private Tiles draw(float zoom) {
+        if (sprites.length == 0) {
+            return new Tiles(zoom, new BufferedImage[0][0]);
+        }
+        int columns = (int) Math.ceil(width * zoom / TILE_SIZE) + 1; // One spare for the rounding of the origin
+        int pixelHeight = (int) Math.ceil(height * zoom) + 1;
+        int rows = (pixelHeight + TILE_SIZE - 1) / TILE_SIZE;
+        BufferedImage[][] images = new BufferedImage[rows][columns];
+        AffineTransform bodyToTile = new AffineTransform();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                float tileLeft = left + column * TILE_SIZE / zoom;
+                float tileTop = top - row * TILE_SIZE / zoom;
+                float tileSize = TILE_SIZE / zoom;
+                Graphics2D g = null;
+                for (int i = 0; i < sprites.length; i++) {
+                    float radius = sprites[i].getRadius();
+                    if (x[i] + radius < tileLeft || x[i] - radius > tileLeft + tileSize
+                            || y[i] - radius > tileTop || y[i] + radius < tileTop - tileSize) {
+                        continue;
+                    }
+                    if (g == null) {
+                        // The bottom row is only as tall as the scenery, so a long, flat level keeps its tiles short
+                        int tileHeight = Math.min(TILE_SIZE, pixelHeight - row * TILE_SIZE);
+                        images[row][column] = new BufferedImage(TILE_SIZE, tileHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+                        g = images[row][column].createGraphics();
+                        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    }
+                    // The same world-to-pixel mapping as the view's camera, shifted to this tile
+                    bodyToTile.setToScale(zoom, -zoom);
+                    bodyToTile.translate(x[i] - tileLeft, y[i] - tileTop);
+                    bodyToTile.rotate(angle[i]);
+                    sprites[i].draw(g, bodyToTile);
+                }
+                if (g != null) {
+                    g.dispose();
+                }
+            }
+        }
+        return new Tiles(zoom, images);
+    }
+}
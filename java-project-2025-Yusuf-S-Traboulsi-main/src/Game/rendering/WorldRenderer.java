@@ -0,0 +1,87 @@
+package game.rendering;
+
+import game.metrics.Metrics;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+
+/**
+ * Draws the bodies of a {@link RenderSnapshot} that are inside the view, over the tiles of the
+ * level's {@link StaticLayer} that are inside it. The snapshot's spatial index is asked only for the
+ * columns of the level around the view. Each candidate it returns is checked against the view using its
+ * sprite's bounds, and the bodies left are drawn grouped by the image their sprites come from.
+ * Drawing a frame therefore costs about the same however wide the level is.
+ * <p>
+ * A renderer reuses its buffers from frame to frame, so it must only be used by one thread.
+ */
+public class WorldRenderer {
+    /**
+     * The transform from world coordinates to view pixels for the frame being drawn.
+     */
+    private final AffineTransform camera = new AffineTransform();
+    /**
+     * The transform from a body's coordinates to view pixels, reused for every body.
+     */
+    private final AffineTransform bodyToView = new AffineTransform();
+    /**
+     * The bodies near the view, as returned by the snapshot's index.
+     */
+    private int[] candidates = new int[0];
+    /**
+     * The draw order of the bodies in view: layer, then batch, then capture order, packed into one number each.
+     */
+    private long[] draws = new long[0];
+
+    /**
+     * Draws the bodies in view, interpolated between the snapshot's previous and current step.
+     * The camera is centred on the snapshot's camera x-coordinate and the world's origin vertically,
+     * as CityEngine's view does.
+     *
+     * @param g        The graphics context used for rendering.
+     * @param snapshot The snapshot to draw.
+     * @param alpha    How far between the two steps to draw, from 0 (previous) to 1 (current).
+     * @param zoom     The number of pixels per world unit.
+     * @param width    The view's width in pixels.
+     * @param height   The view's height in pixels.
+     */
+    public void paint(Graphics2D g, RenderSnapshot snapshot, float alpha, float zoom, int width, int height) {
+        float cameraX = snapshot.getCameraX(alpha);
+        camera.setToTranslation(width / 2.0, height / 2.0);
+        camera.scale(zoom, -zoom);
+        camera.translate(-cameraX, 0);
+
+        snapshot.getStaticLayer().paint(g, cameraX, zoom, width, height);
+
+        float halfWidth = width / 2f / zoom;
+        float halfHeight = height / 2f / zoom;
+        if (candidates.length < snapshot.size()) {
+            candidates = new int[snapshot.size()];
+            draws = new long[snapshot.size()];
+        }
+        int found = snapshot.query(cameraX - halfWidth, cameraX + halfWidth, candidates);
+
+        int visible = 0;
+        for (int c = 0; c < found; c++) {
+            int i = candidates[c];
+            Sprite sprite = snapshot.sprite(i);
+            float reachX = halfWidth + sprite.getRadius();
+            float reachY = halfHeight + sprite.getRadius();
+            if (Math.abs(snapshot.x(i, alpha) - cameraX) > reachX || Math.abs(snapshot.y(i, alpha)) > reachY) {
+                continue; // Entirely outside the view
+            }
+            long layer = snapshot.isStatic(i) ? 0 : 1; // Moving bodies stay on top, as before
+            draws[visible++] = layer << 62 | (long) sprite.getBatch() << 31 | i;
+        }
+        Arrays.sort(draws, 0, visible);
+
+        for (int d = 0; d < visible; d++) {
+            int i = (int) (draws[d] & Integer.MAX_VALUE);
+            bodyToView.setTransform(camera);
+            bodyToView.translate(snapshot.x(i, alpha), snapshot.y(i, alpha));
+            bodyToView.rotate(snapshot.angle(i, alpha));
+            snapshot.sprite(i).draw(g, bodyToView);
+        }
+        Metrics.PAINT_BODIES_DRAWN.add(visible);
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains classes for drawing the game world.
+ * This includes sprites, renderable bodies and the snapshots of each step the view paints from.
+ */
+package game.rendering;
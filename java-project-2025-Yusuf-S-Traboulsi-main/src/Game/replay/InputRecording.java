@@ -0,0 +1,225 @@
+package game.replay;
+
+import city.cs.engine.SimulationSettings;
+import game.controls.InputAction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A log of every input applied during a game session, against the number of physics steps taken
+ * when it was applied. Steps are counted across the whole session, so a session that spans several
+ * levels and resets is one continuous log. Changes to the width of the view are logged the same way,
+ * as they decide which enemies are updated on each step.
+ * Actions are recorded on the simulation thread while the game may be saving the log from the Swing
+ * event thread, so every method is synchronized.
+ */
+public class InputRecording {
+    /**
+     * The bytes that start every recording file ("GREC").
+     */
+    private static final int MAGIC = 0x47524543;
+    /**
+     * The version of the file format. Version 1 files, which have no view widths, can still be loaded.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The recorded inputs, in the order they were applied.
+     */
+    private final List<Event> events = new ArrayList<>();
+    /**
+     * The recorded view widths, in the order they were applied.
+     */
+    private final List<ViewWidth> viewWidths = new ArrayList<>();
+    /**
+     * The number of physics steps taken so far in the session.
+     */
+    private long length;
+
+    /**
+     * Records that the session's world took one physics step.
+     */
+    public synchronized void stepTaken() {
+        length++;
+    }
+
+    /**
+     * Records an action applied before the next physics step.
+     *
+     * @param action The action that was applied.
+     */
+    public synchronized void record(InputAction action) {
+        events.add(new Event(length, action));
+    }
+
+    /**
+     * Records a view width applied before the next physics step.
+     *
+     * @param halfWidth Half the width of the view in world units.
+     */
+    public synchronized void recordViewWidth(float halfWidth) {
+        viewWidths.add(new ViewWidth(length, halfWidth));
+    }
+
+    /**
+     * Gets the number of physics steps recorded.
+     *
+     * @return The length of the session in steps.
+     */
+    public synchronized long getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the recorded inputs.
+     *
+     * @return A copy of the inputs, in the order they were applied.
+     */
+    public synchronized List<Event> getEvents() {
+        return List.copyOf(events);
+    }
+
+    /**
+     * Gets the recorded view widths.
+     *
+     * @return A copy of the view widths, in the order they were applied.
+     */
+    public synchronized List<ViewWidth> getViewWidths() {
+        return List.copyOf(viewWidths);
+    }
+
+    /**
+     * Saves the recording to a file. Step numbers are stored as variable-length deltas and actions
+     * as single bytes, so a typical minute of play takes a few hundred bytes.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public synchronized void save(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeShort(SimulationSettings.DEFAULT_SIMULATION_RATE);
+            writeVarLong(out, events.size());
+
+            long previousStep = 0;
+            for (Event event : events) {
+                writeVarLong(out, event.step() - previousStep);
+                out.writeByte(event.action().ordinal());
+                previousStep = event.step();
+            }
+            writeVarLong(out, viewWidths.size());
+            previousStep = 0;
+            for (ViewWidth viewWidth : viewWidths) {
+                writeVarLong(out, viewWidth.step() - previousStep);
+                out.writeFloat(viewWidth.halfWidth());
+                previousStep = viewWidth.step();
+            }
+            writeVarLong(out, length);
+        }
+    }
+
+    /**
+     * Loads a recording saved with {@link #save(Path)}.
+     *
+     * @param path The file to read.
+     * @return The loaded recording.
+     * @throws IOException If the file cannot be read or is not a recording.
+     */
+    public static InputRecording load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(path + " is not an input recording");
+            }
+            int version = in.readUnsignedByte();
+            if (version < 1 || version > VERSION) {
+                throw new IOException(path + " is a version " + version + " input recording");
+            }
+            int stepRate = in.readUnsignedShort();
+            if (stepRate != SimulationSettings.DEFAULT_SIMULATION_RATE) {
+                throw new IOException(path + " was recorded at " + stepRate + " steps per second");
+            }
+
+            InputRecording recording = new InputRecording();
+            InputAction[] actions = InputAction.values();
+            long count = readVarLong(in);
+            long step = 0;
+            for (long i = 0; i < count; i++) {
+                step += readVarLong(in);
+                recording.events.add(new Event(step, actions[in.readUnsignedByte()]));
+            }
+            if (version >= 2) {
+                long widths = readVarLong(in);
+                step = 0;
+                for (long i = 0; i < widths; i++) {
+                    step += readVarLong(in);
+                    recording.viewWidths.add(new ViewWidth(step, in.readFloat()));
+                }
+            }
+            recording.length = readVarLong(in);
+            return recording;
+        }
+    }
+
+    /**
+     * Writes a non-negative number using 7 bits per byte, with the high bit marking that more bytes follow.
+     *
+     * @param out   The stream to write to.
+     * @param value The number to write.
+     * @throws IOException If the number cannot be written.
+     */
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a number written by {@link #writeVarLong(DataOutput, long)}.
+     *
+     * @param in The stream to read from.
+     * @return The number read.
+     * @throws IOException If the number cannot be read.
+     */
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed step number in input recording");
+    }
+
+    /**
+     * A single recorded input.
+     *
+     * @param step   The number of session steps taken before the action was applied.
+     * @param action The action that was applied.
+     */
+    public record Event(long step, InputAction action) {
+    }
+
+    /**
+     * A single recorded change to the width of the view.
+     *
+     * @param step      The number of session steps taken before the width was applied.
+     * @param halfWidth Half the width of the view in world units.
+     */
+    public record ViewWidth(long step, float halfWidth) {
+    }
+}
@@ -0,0 +1,396 @@
+package game.replay;
+
+import game.characters.Player;
+import game.controls.AudioSettings;
+import game.controls.InputAction;
+import game.levelLoader.Door;
+import game.levelLoader.GameWorld;
+import game.levelLoader.Level;
+import game.simulation.HeadlessRunner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays an {@link InputRecording} back through fresh copies of the game's levels, reproducing the
+ * recorded session step for step. Level transitions and resets follow the same rules as the game.
+ * Nothing is rendered, so a replay can run much faster than real time.
+ * While it runs, the engine keeps a keyframe of the world every few seconds of game time, so
+ * {@link #seek(long)} can jump back or forward without re-simulating from the start.
+ */
+public class ReplayEngine {
+    /**
+     * The default number of steps between keyframes (five seconds of game time).
+     */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 5 * HeadlessRunner.STEPS_PER_SECOND;
+    /**
+     * The fastest {@link #play(double)} will run, as a multiple of real time.
+     */
+    public static final double MAX_SPEED = 50;
+
+    /**
+     * The recorded inputs, in the order they were applied.
+     */
+    private final List<InputRecording.Event> events;
+    /**
+     * The recorded view widths, in the order they were applied.
+     */
+    private final List<InputRecording.ViewWidth> viewWidths;
+    /**
+     * The number of steps in the recorded session.
+     */
+    private final long length;
+    /**
+     * The levels to play, in order. They should have been created without a {@code Game}.
+     */
+    private final List<Level> levels;
+    /**
+     * The number of steps between keyframes.
+     */
+    private final int keyframeInterval;
+    /**
+     * The keyframes captured so far, in step order.
+     */
+    private final List<Keyframe> keyframes = new ArrayList<>();
+
+    /**
+     * The index of the level being played, or {@code levels.size()} once the game is complete.
+     */
+    private int levelIndex;
+    /**
+     * The world of the level being played.
+     */
+    private GameWorld world;
+    /**
+     * The body index used to capture and restore the current world.
+     */
+    private WorldState worldState;
+    /**
+     * The number of session steps replayed so far.
+     */
+    private long step;
+    /**
+     * The index of the next recorded input to apply.
+     */
+    private int nextEvent;
+    /**
+     * The index of the next recorded view width to apply.
+     */
+    private int nextViewWidth;
+
+    /**
+     * Constructs a replay engine for a recording, positioned at the start of the session.
+     *
+     * @param recording        The recording to replay.
+     * @param levels           The game's levels in play order, created without a {@code Game}.
+     * @param keyframeInterval The number of steps between keyframes.
+     */
+    public ReplayEngine(InputRecording recording, List<Level> levels, int keyframeInterval) {
+        this.events = recording.getEvents();
+        this.viewWidths = recording.getViewWidths();
+        this.length = recording.getLength();
+        this.levels = levels;
+        this.keyframeInterval = keyframeInterval;
+        rewind();
+    }
+
+    /**
+     * Moves back to the start of the session with a fresh first level.
+     */
+    public void rewind() {
+        step = 0;
+        nextEvent = 0;
+        nextViewWidth = 0;
+        startLevel(0);
+    }
+
+    /**
+     * Applies the inputs recorded at the current step, then takes one physics step.
+     *
+     * @return {@code false} if the session had already ended, so nothing was stepped.
+     */
+    public boolean advance() {
+        while (nextEvent < events.size() && events.get(nextEvent).step() == step) {
+            apply(events.get(nextEvent++).action());
+        }
+        // A new level's simulation is given the view's width after any reset logged at the same step
+        while (nextViewWidth < viewWidths.size() && viewWidths.get(nextViewWidth).step() == step) {
+            float halfWidth = viewWidths.get(nextViewWidth++).halfWidth();
+            if (world != null) {
+                world.getEntities().getEnemyCore().setViewHalfWidth(halfWidth);
+            }
+        }
+        if (isFinished()) {
+            return false;
+        }
+
+        world.oneStep();
+        step++;
+
+        Door door = world.getDoor();
+        if (door != null && door.isReached()) {
+            // Carry health and score over, as the game does between levels
+            Player player = world.getPlayer();
+            int health = player.getHealth();
+            int score = player.getScore();
+            startLevel(levelIndex + 1);
+            if (world != null) {
+                world.getPlayer().setHealth(health);
+                world.getPlayer().setScore(score);
+            }
+        }
+
+        if (step % keyframeInterval == 0 && world != null
+                && (keyframes.isEmpty() || keyframes.get(keyframes.size() - 1).step() < step)) {
+            keyframes.add(captureKeyframe());
+        }
+        return true;
+    }
+
+    /**
+     * Moves to the start of a session step, before the inputs recorded at that step are applied.
+     * Starts from the nearest keyframe at or before the step, or carries on from the current step
+     * if that is closer.
+     *
+     * @param target The session step to move to.
+     */
+    public void seek(long target) {
+        Keyframe keyframe = null;
+        for (Keyframe candidate : keyframes) {
+            if (candidate.step() > target) {
+                break;
+            }
+            keyframe = candidate;
+        }
+
+        boolean aheadOfKeyframe = keyframe == null || step >= keyframe.step();
+        if (step > target || !aheadOfKeyframe) {
+            if (keyframe != null) {
+                restore(keyframe);
+            } else {
+                rewind();
+            }
+        }
+        while (step < target && advance()) {
+            // Keep stepping until the target is reached
+        }
+    }
+
+    /**
+     * Replays the rest of the session paced against real time, without rendering.
+     *
+     * @param speed How many times faster than real time to play, capped at {@link #MAX_SPEED}.
+     * @throws IllegalArgumentException If the speed is not a positive number.
+     */
+    public void play(double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Replay speed must be positive, not " + speed); // NaN fails too
+        }
+        long stepNanos = (long) (1e9 / (HeadlessRunner.STEPS_PER_SECOND * Math.min(speed, MAX_SPEED)));
+        long nextStep = System.nanoTime();
+        while (advance()) {
+            nextStep += stepNanos;
+            long wait = nextStep - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the replay has reached the end of the session: the recording has run out,
+     * the player has lost with no reset recorded, or every level has been completed.
+     *
+     * @return {@code true} if there is nothing left to replay.
+     */
+    public boolean isFinished() {
+        if (world == null || step >= length) {
+            return true;
+        }
+        // While the player is lost the game stops stepping until a reset is recorded
+        return world.getPlayer().hasLost();
+    }
+
+    /**
+     * Gets the number of session steps replayed so far.
+     *
+     * @return The current step.
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Gets the number of steps in the recorded session.
+     *
+     * @return The length of the session in steps.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the index of the level being played.
+     *
+     * @return The level index, or the number of levels once the game is complete.
+     */
+    public int getLevelIndex() {
+        return levelIndex;
+    }
+
+    /**
+     * Gets the world of the level being played.
+     *
+     * @return The current world, or {@code null} once the game is complete.
+     */
+    public GameWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Gets the number of keyframes captured so far.
+     *
+     * @return The keyframe count.
+     */
+    public int getKeyframeCount() {
+        return keyframes.size();
+    }
+
+    /**
+     * Applies one recorded input.
+     *
+     * @param action The input to apply.
+     */
+    private void apply(InputAction action) {
+        if (action == InputAction.RESET) {
+            startLevel(0);
+        } else if (world != null) {
+            action.apply(world.getPlayer());
+        }
+    }
+
+    /**
+     * Builds a fresh copy of a level and makes it current.
+     *
+     * @param index The index of the level to build.
+     */
+    private void startLevel(int index) {
+        levelIndex = index;
+        if (index < levels.size()) {
+            world = levels.get(index).createWorld();
+            worldState = new WorldState(world);
+        } else {
+            world = null;
+            worldState = null;
+        }
+    }
+
+    /**
+     * Captures the current world as a keyframe.
+     *
+     * @return The keyframe.
+     */
+    private Keyframe captureKeyframe() {
+        try {
+            return new Keyframe(step, levelIndex, nextEvent, nextViewWidth,
+                    world.getEntities().getEnemyCore().getViewHalfWidth(), worldState.capture());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not capture keyframe at step " + step, e);
+        }
+    }
+
+    /**
+     * Rebuilds the keyframe's level and restores the captured state into it.
+     *
+     * @param keyframe The keyframe to restore.
+     */
+    private void restore(Keyframe keyframe) {
+        startLevel(keyframe.levelIndex());
+        try {
+            worldState.restore(keyframe.state());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not restore keyframe at step " + keyframe.step(), e);
+        }
+        world.getEntities().getEnemyCore().setViewHalfWidth(keyframe.viewHalfWidth());
+        step = keyframe.step();
+        nextEvent = keyframe.nextEvent();
+        nextViewWidth = keyframe.nextViewWidth();
+    }
+
+    /**
+     * Replays a recording file headless and prints where it ended.
+     * Usage: {@code ReplayEngine <recording> [speed] [seekSeconds]}.
+     * With no speed the replay runs as fast as possible; otherwise it is paced at up to {@value #MAX_SPEED}x real time.
+     * With a seek time the replay first jumps to that point, then plays the rest.
+     *
+     * @param args Command-line arguments: the recording file, the playback speed and the time to seek to.
+     * @throws IOException If the recording cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        AudioSettings.setEnabled(false);
+
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayEngine <recording> [speed] [seekSeconds]");
+            return;
+        }
+        double speed = args.length > 1 ? parseSpeed(args[1]) : 0;
+        if (Double.isNaN(speed)) {
+            System.err.println("The speed must be a positive number, not " + args[1]);
+            return;
+        }
+        InputRecording recording = InputRecording.load(Path.of(args[0]));
+        ReplayEngine replay = new ReplayEngine(recording, HeadlessRunner.createLevels(), DEFAULT_KEYFRAME_INTERVAL);
+
+        long start = System.nanoTime();
+        if (args.length > 2) {
+            replay.seek((long) (Double.parseDouble(args[2]) * HeadlessRunner.STEPS_PER_SECOND));
+            System.out.printf("Seeked to step %d in %.1f ms%n", replay.getStep(), (System.nanoTime() - start) / 1e6);
+        }
+        if (args.length > 1) {
+            replay.play(speed);
+        } else {
+            replay.seek(replay.getLength());
+        }
+
+        GameWorld world = replay.getWorld();
+        String where = world == null ? "game complete"
+                : "level " + (replay.getLevelIndex() + 1) + ", player at " + world.getPlayer().getPosition()
+                + ", health=" + world.getPlayer().getHealth() + " coins=" + world.getPlayer().getCoinsCollected();
+        System.out.printf("Replayed %d of %d steps in %.1f ms: %s%n",
+                replay.getStep(), replay.getLength(), (System.nanoTime() - start) / 1e6, where);
+    }
+
+    /**
+     * Parses a playback speed given on the command line.
+     *
+     * @param text The speed as typed.
+     * @return The speed, or NaN if it is not a positive number.
+     */
+    private static double parseSpeed(String text) {
+        try {
+            double speed = Double.parseDouble(text);
+            return speed > 0 ? speed : Double.NaN;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * A saved copy of the replay's position.
+     *
+     * @param step          The session step the keyframe was taken at, before that step's inputs.
+     * @param levelIndex    The level being played.
+     * @param nextEvent     The index of the next recorded input to apply.
+     * @param nextViewWidth The index of the next recorded view width to apply.
+     * @param viewHalfWidth Half the width of the view in world units, as last applied to the level.
+     * @param state         The captured world state.
+     */
+    private record Keyframe(long step, int levelIndex, int nextEvent, int nextViewWidth, float viewHalfWidth,
+                            byte[] state) {
+    }
+}
@@ -0,0 +1,27 @@
+package game.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A body with game state beyond its position and velocity, such as health or a patrol direction.
+ * The state is written into replay keyframes and read back into a freshly built copy of the level.
+ */
+public interface Restorable {
+    /**
+     * Writes the body's game state.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the state cannot be written.
+     */
+    void writeState(DataOutput out) throws IOException;
+
+    /**
+     * Restores the game state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If the state cannot be read.
+     */
+    void readState(DataInput in) throws IOException;
+}
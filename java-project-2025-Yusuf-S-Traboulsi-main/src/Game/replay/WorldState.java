@@ -0,0 +1,112 @@
+package game.replay;
+
+import city.cs.engine.Body;
+import city.cs.engine.DynamicBody;
+import city.cs.engine.World;
+import org.jbox2d.common.Vec2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures and restores the state of a level's world for replay keyframes.
+ * Bodies are identified by their position in the world's body lists straight after the level is
+ * built, which is the same every time the level is built, so state captured from one copy of a
+ * level can be restored into a fresh copy.
+ */
+class WorldState {
+    /**
+     * Every body the level was built with, in a fixed order.
+     */
+    private final List<Body> bodies;
+    /**
+     * Whether each body is still in the world.
+     */
+    private final boolean[] alive;
+
+    /**
+     * Indexes the bodies of a level that has just been built and not yet stepped.
+     *
+     * @param world The freshly built world.
+     */
+    WorldState(World world) {
+        bodies = new ArrayList<>(world.getStaticBodies());
+        bodies.addAll(world.getDynamicBodies());
+        alive = new boolean[bodies.size()];
+        for (int i = 0; i < bodies.size(); i++) {
+            int index = i;
+            alive[i] = true;
+            bodies.get(i).addDestructionListener(e -> alive[index] = false);
+        }
+    }
+
+    /**
+     * Captures which bodies are alive, their position and velocity, and any {@link Restorable} game state.
+     *
+     * @return The captured state.
+     * @throws IOException If a body's state cannot be written.
+     */
+    byte[] capture() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(bodies.size() * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < bodies.size(); i++) {
+            out.writeBoolean(alive[i]);
+            if (!alive[i]) {
+                continue;
+            }
+
+            Body body = bodies.get(i);
+            Vec2 position = body.getPosition();
+            out.writeFloat(position.x);
+            out.writeFloat(position.y);
+            out.writeFloat(body.getAngle());
+            if (body instanceof DynamicBody dynamicBody) {
+                Vec2 velocity = dynamicBody.getLinearVelocity();
+                out.writeFloat(velocity.x);
+                out.writeFloat(velocity.y);
+                out.writeFloat(dynamicBody.getAngularVelocity());
+                out.writeFloat(dynamicBody.getGravityScale());
+            }
+            if (body instanceof Restorable restorable) {
+                restorable.writeState(out);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores state captured from another copy of the same level.
+     * Bodies that had been destroyed are destroyed here too.
+     *
+     * @param state The state returned by {@link #capture()}.
+     * @throws IOException If the state does not match this level.
+     */
+    void restore(byte[] state) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(state));
+        for (Body body : bodies) {
+            if (!in.readBoolean()) {
+                body.destroy();
+                continue;
+            }
+
+            body.setPosition(new Vec2(in.readFloat(), in.readFloat()));
+            body.setAngle(in.readFloat());
+            if (body instanceof DynamicBody dynamicBody) {
+                dynamicBody.setLinearVelocity(new Vec2(in.readFloat(), in.readFloat()));
+                dynamicBody.setAngularVelocity(in.readFloat());
+                dynamicBody.setGravityScale(in.readFloat());
+            }
+            if (body instanceof Restorable restorable) {
+                restorable.readState(in);
+            }
+        }
+        if (in.available() > 0) {
+            throw new IOException("Keyframe has " + in.available() + " bytes left over; it belongs to a different level");
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains classes for recording player input and replaying it deterministically.
+ * This includes the compact input log, the world state captured for keyframes and the replay engine used to reproduce runs.
+ */
+package game.replay;
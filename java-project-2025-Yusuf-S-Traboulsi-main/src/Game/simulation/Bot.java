@@ -0,0 +1,18 @@
+package game.simulation;
+
+import game.characters.Player;
+
+/**
+ * Plays a level in place of a person during headless runs.
+ */
+@FunctionalInterface
+public interface Bot {
+    /**
+     * Decides what the player does before a physics step.
+     * Called on the thread stepping the player's world.
+     *
+     * @param player The player to control.
+     * @param step   The number of steps taken so far.
+     */
+    void act(Player player, long step);
+}
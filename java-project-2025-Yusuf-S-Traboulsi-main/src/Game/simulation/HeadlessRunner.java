@@ -0,0 +1,179 @@
+package game.simulation;
+
+import city.cs.engine.SimulationSettings;
+import game.characters.Player;
+import game.controls.AudioSettings;
+import game.levelLoader.Door;
+import game.levelLoader.GameWorld;
+import game.levelLoader.Level;
+import game.levelLoader.LevelLoader;
+import game.assets.AssetRegistry;
+import game.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Runs game levels without a window, a {@code GameView} or audio.
+ * Worlds are advanced with {@link GameWorld#oneStep()} in a tight loop instead of CityEngine's
+ * Swing timer, so a level can be simulated many times faster than real time.
+ */
+public class HeadlessRunner {
+    /**
+     * The number of physics steps in one simulated second.
+     */
+    public static final int STEPS_PER_SECOND = SimulationSettings.DEFAULT_SIMULATION_RATE;
+
+    /**
+     * The name the results are reported under.
+     */
+    private final String name;
+    /**
+     * The level to simulate.
+     */
+    private final Level level;
+
+    /**
+     * Constructs a runner for the specified level, reported under the level's name.
+     *
+     * @param level The level to simulate. It should have been created without a {@code Game}.
+     */
+    public HeadlessRunner(Level level) {
+        this(level.getName(), level);
+    }
+
+    /**
+     * Constructs a runner for the specified level.
+     *
+     * @param name  The name the results are reported under.
+     * @param level The level to simulate. It should have been created without a {@code Game}.
+     */
+    public HeadlessRunner(String name, Level level) {
+        this.name = name;
+        this.level = level;
+    }
+
+    /**
+     * Creates the game's levels for headless use. Each call reads the index and every level file again,
+     * so callers that run many levels should create them once and reuse them; worlds are built fresh from them each time.
+     *
+     * @return The levels listed in the level index, in play order.
+     * @throws UncheckedIOException If a level listed in the index cannot be loaded, as a headless run
+     *                              picks levels by their place in the index and must not skip one.
+     */
+    public static List<Level> createLevels() {
+        try {
+            return LevelLoader.loadAllOrFail();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds a fresh world for the level and steps it until the player reaches the door,
+     * loses all health, or the step limit is hit.
+     *
+     * @param maxSteps The maximum number of physics steps to simulate.
+     * @return The outcome of the run.
+     */
+    public Result run(int maxSteps) {
+        return run(maxSteps, null);
+    }
+
+    /**
+     * Builds a fresh world for the level and steps it with a bot at the controls until the player
+     * reaches the door, loses all health, or the step limit is hit.
+     *
+     * @param maxSteps The maximum number of physics steps to simulate.
+     * @param bot      The bot playing the level, or {@code null} to leave the player idle.
+     * @return The outcome of the run.
+     */
+    public Result run(int maxSteps, Bot bot) {
+        long start = System.nanoTime();
+        GameWorld world = level.createWorld();
+        Player player = world.getPlayer();
+        Door door = world.getDoor();
+
+        int steps = 0;
+        while (steps < maxSteps) {
+            if (bot != null) {
+                bot.act(player, steps);
+            }
+            world.oneStep();
+            steps++;
+            if (player.hasLost() || (door != null && door.isReached())) {
+                break;
+            }
+        }
+
+        return new Result(name, steps, door != null && door.isReached(),
+                player.hasLost(), player.getHealth(), player.getCoinsCollected(), System.nanoTime() - start);
+    }
+
+    /**
+     * Runs one or all levels headless and prints how fast they simulated, followed by the step metrics.
+     * Usage: {@code HeadlessRunner [1|2|3|all] [simulatedSeconds]}.
+     *
+     * @param args Command-line arguments: the level to run (default all) and the simulated seconds per level (default 600).
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        AudioSettings.setEnabled(false);
+        if (System.getProperty(Metrics.PROPERTY) == null) {
+            Metrics.setEnabled(true); // A profiling run reports its step metrics unless told not to
+        }
+
+        String which = args.length > 0 ? args[0] : "all";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+
+        List<Level> levels = createLevels();
+        if (!which.equals("all")) {
+            levels = List.of(levels.get(Integer.parseInt(which) - 1));
+        }
+
+        for (Level level : levels) {
+            System.out.println(new HeadlessRunner(level).run(seconds * STEPS_PER_SECOND));
+        }
+        Metrics.print(System.out);
+        AssetRegistry.printStats(System.out);
+    }
+
+    /**
+     * The outcome of a single headless run.
+     *
+     * @param level       The name of the level run.
+     * @param steps       The number of physics steps simulated.
+     * @param reachedDoor Whether the player reached the door.
+     * @param lost        Whether the player lost all health.
+     * @param health      The player's health at the end of the run.
+     * @param coins       The coins collected at the end of the run.
+     * @param wallNanos   The wall-clock time taken, including world construction.
+     */
+    public record Result(String level, int steps, boolean reachedDoor, boolean lost,
+                         int health, int coins, long wallNanos) {
+        /**
+         * Gets the simulated time covered by the run.
+         *
+         * @return The simulated time in seconds.
+         */
+        public double simulatedSeconds() {
+            return steps / (double) STEPS_PER_SECOND;
+        }
+
+        /**
+         * Gets how many simulated seconds were covered per wall-clock second.
+         *
+         * @return The speed-up over real time.
+         */
+        public double speedUp() {
+            return simulatedSeconds() / (wallNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d steps (%.1f s simulated) in %.1f ms, %.0fx real time, door=%b lost=%b health=%d coins=%d",
+                    level, steps, simulatedSeconds(), wallNanos / 1e6, speedUp(), reachedDoor, lost, health, coins);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package game.simulation;
+
+import game.characters.Player;
+import game.controls.InputAction;
+
+import java.util.Random;
+
+/**
+ * A bot that holds a random direction for a random number of steps, jumping now and then.
+ * It leans towards moving right, where the door usually is. The same seed always plays the same way.
+ */
+public class RandomBot implements Bot {
+    /**
+     * The fewest steps a decision is held for.
+     */
+    private static final int MIN_HOLD_STEPS = 10;
+    /**
+     * The most steps a decision is held for.
+     */
+    private static final int MAX_HOLD_STEPS = 60;
+    /**
+     * The chance of moving right at each decision.
+     */
+    private static final double RIGHT_CHANCE = 0.6;
+    /**
+     * The chance of moving left at each decision; otherwise the bot stands still.
+     */
+    private static final double LEFT_CHANCE = 0.2;
+    /**
+     * The chance of jumping at each decision.
+     */
+    private static final double JUMP_CHANCE = 0.3;
+
+    /**
+     * The source of the bot's decisions.
+     */
+    private final Random random;
+    /**
+     * The step at which the bot next decides what to do.
+     */
+    private long nextDecision;
+
+    /**
+     * Constructs a bot that plays according to a seed.
+     *
+     * @param seed The seed for the bot's decisions.
+     */
+    public RandomBot(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Picks a new direction and maybe jumps, once the previous decision has been held long enough.
+     *
+     * @param player The player to control.
+     * @param step   The number of steps taken so far.
+     */
+    @Override
+    public void act(Player player, long step) {
+        if (step < nextDecision) {
+            return;
+        }
+        nextDecision = step + MIN_HOLD_STEPS + random.nextInt(MAX_HOLD_STEPS - MIN_HOLD_STEPS + 1);
+
+        double roll = random.nextDouble();
+        if (roll < RIGHT_CHANCE) {
+            InputAction.MOVE_RIGHT.apply(player);
+        } else if (roll < RIGHT_CHANCE + LEFT_CHANCE) {
+            InputAction.MOVE_LEFT.apply(player);
+        } else {
+            player.stopMoving();
+        }
+
+        if (random.nextDouble() < JUMP_CHANCE) {
+            InputAction.JUMP.apply(player);
+        }
+    }
+}
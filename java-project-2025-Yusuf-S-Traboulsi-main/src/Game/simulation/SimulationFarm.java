@@ -0,0 +1,233 @@
+package game.simulation;
+
+import game.characters.Player;
+import game.controls.AudioSettings;
+import game.levelLoader.GameWorld;
+import game.levelLoader.Level;
+import game.metrics.Metrics;
+import org.jbox2d.common.Vec2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs many independent headless level runs at once on a fork-join pool.
+ * The levels are loaded once and shared, and each trial builds its own {@link GameWorld} from its level, randomizes the player's starting state
+ * from the trial's seed and hands the controls to a {@link RandomBot}, so results are reproducible
+ * however the trials are spread across threads. Nothing here touches Swing or audio.
+ */
+public class SimulationFarm {
+    /**
+     * How far either side of the level's spawn point the player may start.
+     */
+    private static final float START_JITTER = 1f;
+
+    /**
+     * The pool the trials run on.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * The levels trials are run on, in play order.
+     */
+    private final List<Level> levels;
+
+    /**
+     * Constructs a farm that runs trials on the specified number of threads.
+     *
+     * @param parallelism The number of worker threads.
+     * @param levels      The levels trials are run on, in play order, created without a {@code Game}.
+     */
+    public SimulationFarm(int parallelism, List<Level> levels) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.levels = levels;
+    }
+
+    /**
+     * Runs every trial and waits for them all to finish.
+     *
+     * @param trials The trials to run.
+     * @return The result of each trial, in the same order as the trials.
+     */
+    public List<TrialResult> run(List<Trial> trials) {
+        TrialResult[] results = new TrialResult[trials.size()];
+        pool.invoke(new TrialTask(trials, levels, results, 0, trials.size()));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Stops the farm's worker threads.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Runs a single trial on the calling thread.
+     *
+     * @param trial The trial to run.
+     * @param base  The level the trial's number refers to.
+     * @return The trial's result.
+     */
+    public static TrialResult runTrial(Trial trial, Level base) {
+        Random random = new Random(trial.seed());
+        Bot bot = new RandomBot(random.nextLong());
+        Level randomized = () -> randomizeStart(base.createWorld(), random);
+
+        String name = "Level" + trial.levelNumber() + " seed " + trial.seed();
+        return new TrialResult(trial, new HeadlessRunner(name, randomized).run(trial.maxSteps(), bot));
+    }
+
+    /**
+     * Moves the player a little way from the spawn point and starts them on random health.
+     *
+     * @param world  The freshly built world.
+     * @param random The trial's source of randomness.
+     * @return The same world.
+     */
+    private static GameWorld randomizeStart(GameWorld world, Random random) {
+        Player player = world.getPlayer();
+        Vec2 spawn = player.getPosition();
+        player.setPosition(new Vec2(spawn.x + (random.nextFloat() * 2 - 1) * START_JITTER, spawn.y));
+        player.setHealth(1 + random.nextInt(6)); // Anywhere from half a heart to full health
+        return world;
+    }
+
+    /**
+     * Runs a batch of random trials across every level and prints a summary per level.
+     * Usage: {@code SimulationFarm [trials] [simulatedSeconds] [threads]}.
+     *
+     * @param args Command-line arguments: the number of trials (default 8 per core), the simulated seconds per trial
+     *             (default 120) and the number of threads (default one per core).
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        AudioSettings.setEnabled(false);
+        // Never reported here, and every worker would contend on the same shared metrics
+        Metrics.setEnabled(false);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        int trialCount = args.length > 0 ? Integer.parseInt(args[0]) : cores * 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 120;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : cores;
+        List<Level> levels = HeadlessRunner.createLevels(); // Read once; every trial builds its world from these
+        int levelCount = levels.size();
+
+        List<Trial> trials = new ArrayList<>();
+        for (int i = 0; i < trialCount; i++) {
+            trials.add(new Trial(i % levelCount + 1, i, seconds * HeadlessRunner.STEPS_PER_SECOND));
+        }
+
+        SimulationFarm farm = new SimulationFarm(threads, levels);
+        long start = System.nanoTime();
+        List<TrialResult> results = farm.run(trials);
+        long wallNanos = System.nanoTime() - start;
+        farm.shutdown();
+
+        for (int level = 1; level <= levelCount; level++) {
+            int runs = 0, doors = 0, losses = 0, health = 0, coins = 0;
+            for (TrialResult result : results) {
+                if (result.trial().levelNumber() == level) {
+                    runs++;
+                    doors += result.result().reachedDoor() ? 1 : 0;
+                    losses += result.result().lost() ? 1 : 0;
+                    health += result.result().health();
+                    coins += result.result().coins();
+                }
+            }
+            if (runs > 0) {
+                System.out.printf("Level%d: %d runs, door %.0f%%, lost %.0f%%, mean health %.1f, mean coins %.1f%n",
+                        level, runs, 100.0 * doors / runs, 100.0 * losses / runs, health / (double) runs, coins / (double) runs);
+            }
+        }
+
+        double simulatedSeconds = results.stream().mapToDouble(result -> result.result().simulatedSeconds()).sum();
+        System.out.printf("%d trials on %d threads: %.0f s simulated in %.1f s, %.0fx real time%n",
+                trialCount, threads, simulatedSeconds, wallNanos / 1e9, simulatedSeconds / (wallNanos / 1e9));
+    }
+
+    /**
+     * One run to simulate.
+     *
+     * @param levelNumber The level to run, starting at 1.
+     * @param seed        The seed for the starting state and the bot.
+     * @param maxSteps    The maximum number of physics steps to simulate.
+     */
+    public record Trial(int levelNumber, long seed, int maxSteps) {
+    }
+
+    /**
+     * The outcome of a trial.
+     *
+     * @param trial  The trial that was run.
+     * @param result The outcome of the run.
+     */
+    public record TrialResult(Trial trial, HeadlessRunner.Result result) {
+    }
+
+    /**
+     * Splits a range of trials in half until each task runs a single trial.
+     */
+    private static class TrialTask extends RecursiveAction {
+        /**
+         * The serialisation version, declared because {@link RecursiveAction} is serializable; tasks never are.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * All of the farm's trials.
+         */
+        private final List<Trial> trials;
+        /**
+         * The levels the trials' numbers refer to.
+         */
+        private final List<Level> levels;
+        /**
+         * Where each trial's result is stored, by index.
+         */
+        private final TrialResult[] results;
+        /**
+         * The first trial in this task's range.
+         */
+        private final int from;
+        /**
+         * One past the last trial in this task's range.
+         */
+        private final int to;
+
+        /**
+         * Constructs a task for a range of trials.
+         *
+         * @param trials  All of the farm's trials.
+         * @param levels  The levels the trials' numbers refer to.
+         * @param results Where each trial's result is stored, by index.
+         * @param from    The first trial in the range.
+         * @param to      One past the last trial in the range.
+         */
+        TrialTask(List<Trial> trials, List<Level> levels, TrialResult[] results, int from, int to) {
+            this.trials = trials;
+            this.levels = levels;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Runs the trial, or forks the two halves of the range.
+         */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                Trial trial = trials.get(from);
+                results[from] = runTrial(trial, levels.get(trial.levelNumber() - 1));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TrialTask(trials, levels, results, from, middle),
+                    new TrialTask(trials, levels, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package game.simulation;
+
+import game.controls.InputAction;
+import game.levelLoader.GameWorld;
+import game.rendering.RenderSnapshot;
+import game.replay.InputRecording;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Steps a game world at a fixed rate on its own thread, away from the Swing event thread.
+ * After each step a {@link RenderSnapshot} is published for the view to paint from.
+ * Anything that touches the world from another thread, such as key input, must be passed to
+ * {@link #execute(Runnable)} so that it runs between steps. Player input goes through
+ * {@link #submit(InputAction)} so it can be recorded against the step it was applied at.
+ */
+public class SimulationThread extends Thread implements Executor {
+    /**
+     * The most steps taken back to back before the loop gives up catching up with real time.
+     */
+    private static final int MAX_CATCH_UP_STEPS = 5;
+    /**
+     * How long to wait between checks for commands while paused.
+     */
+    private static final long PAUSE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * The world being simulated.
+     */
+    private final GameWorld world;
+    /**
+     * Runs on this thread after each step, once the new snapshot has been published.
+     */
+    private final Consumer<SimulationThread> onStep;
+    /**
+     * The length of one physics step in nanoseconds.
+     */
+    private final long stepNanos;
+    /**
+     * Commands waiting to be run before the next step.
+     */
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    /**
+     * Whether the loop should keep running.
+     */
+    private volatile boolean running = true;
+    /**
+     * Whether stepping is paused.
+     */
+    private volatile boolean paused;
+    /**
+     * The most recently published snapshot.
+     */
+    private volatile RenderSnapshot snapshot;
+    /**
+     * Every snapshot this thread has captured into, reused once no reader holds them.
+     * Usually three: the latest, one still being painted, and the one being captured. Only used by the stepping thread.
+     */
+    private final List<RenderSnapshot> snapshots = new ArrayList<>();
+    /**
+     * The number of steps taken so far.
+     */
+    private long stepCount;
+    /**
+     * The recording that applied inputs and steps are logged to, or {@code null} when not recording.
+     */
+    private volatile InputRecording recording;
+
+    /**
+     * Constructs a simulation thread for the specified world.
+     * The world must not be started with {@code World.start()}, as that would step it on the Swing timer.
+     *
+     * @param world  The world to simulate.
+     * @param onStep Called on the simulation thread after each step, with this thread as its argument.
+     */
+    public SimulationThread(GameWorld world, Consumer<SimulationThread> onStep) {
+        super("simulation");
+        this.world = world;
+        this.onStep = onStep;
+        this.stepNanos = (long) (world.getSimulationSettings().getSimTimeStep() * 1e9);
+        setDaemon(true);
+        publish();
+    }
+
+    /**
+     * Runs the fixed-timestep loop until {@link #shutdown()} is called.
+     */
+    @Override
+    public void run() {
+        long nextStep = System.nanoTime();
+        while (running) {
+            runCommands();
+            if (paused) {
+                LockSupport.parkNanos(PAUSE_POLL_NANOS);
+                nextStep = System.nanoTime();
+                continue;
+            }
+
+            int steps = 0;
+            while (running && !paused && System.nanoTime() >= nextStep && steps < MAX_CATCH_UP_STEPS) {
+                world.oneStep();
+                stepCount++;
+                if (recording != null) {
+                    recording.stepTaken();
+                }
+                publish();
+                onStep.accept(this);
+                nextStep += stepNanos;
+                steps++;
+                runCommands();
+            }
+            if (steps == MAX_CATCH_UP_STEPS) {
+                nextStep = System.nanoTime(); // Too far behind, drop the backlog instead of spiralling
+            }
+
+            long wait = nextStep - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    /**
+     * Queues a command to run on the simulation thread before the next step.
+     *
+     * @param command The command to run.
+     */
+    @Override
+    public void execute(Runnable command) {
+        commands.add(command);
+    }
+
+    /**
+     * Queues a player input to be applied, and recorded if a recording is set, before the next step.
+     *
+     * @param action The input to apply.
+     */
+    public void submit(InputAction action) {
+        execute(() -> {
+            InputRecording current = recording;
+            if (current != null) {
+                current.record(action);
+            }
+            action.apply(world.getPlayer());
+        });
+    }
+
+    /**
+     * Queues a change to how much of the world the view shows, which decides which enemies are updated
+     * every step, to be applied and recorded like an input before the next step.
+     *
+     * @param halfWidth Half the width of the view in world units.
+     */
+    public void setViewHalfWidth(float halfWidth) {
+        execute(() -> {
+            InputRecording current = recording;
+            if (current != null) {
+                current.recordViewWidth(halfWidth);
+            }
+            world.getEntities().getEnemyCore().setViewHalfWidth(halfWidth);
+        });
+    }
+
+    /**
+     * Sets the recording that inputs and steps are logged to. Should be set before the thread starts.
+     *
+     * @param recording The recording to log to, or {@code null} to stop recording.
+     */
+    public void setRecording(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Gets and holds the most recently published snapshot, which is not captured into again until it is released.
+     * The caller must call {@link RenderSnapshot#release()} once it has finished reading it.
+     *
+     * @return The latest snapshot, retained.
+     */
+    public RenderSnapshot acquireSnapshot() {
+        while (true) {
+            RenderSnapshot latest = snapshot;
+            latest.retain();
+            if (latest == snapshot) {
+                return latest; // Still the latest once held, so the stepping thread will leave it alone
+            }
+            latest.release(); // Replaced before it was held, and may already be being captured into
+        }
+    }
+
+    /**
+     * Gets the length of one physics step.
+     *
+     * @return The step length in nanoseconds.
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Gets the world being simulated.
+     *
+     * @return The world.
+     */
+    public GameWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Pauses or resumes stepping. Queued commands still run while paused.
+     *
+     * @param paused {@code true} to pause, {@code false} to resume.
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Checks whether stepping is paused.
+     *
+     * @return {@code true} if paused.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Stops the loop after the current step. Safe to call from any thread, including this one.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(this);
+    }
+
+    /**
+     * Stops the loop and waits for the thread to finish, so no further steps or inputs reach the world
+     * or its recording. Must not be called from this thread.
+     */
+    public void shutdownAndWait() {
+        shutdown();
+        try {
+            join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs every queued command. Commands left over after shutdown are dropped, as the world they
+     * were meant for is finished.
+     */
+    private void runCommands() {
+        Runnable command;
+        while (running && (command = commands.poll()) != null) {
+            command.run();
+        }
+    }
+
+    /**
+     * Captures and publishes a snapshot of the world.
+     */
+    private void publish() {
+        RenderSnapshot previous = snapshot;
+        RenderSnapshot next = freeSnapshot(previous);
+        next.capture(world, stepCount, world.getPlayer().getPosition().x, previous);
+        snapshot = next;
+    }
+
+    /**
+     * Finds a snapshot to capture into: one that is not the latest and that no reader holds.
+     * A new one is only made when every snapshot is in use.
+     *
+     * @param latest The latest snapshot, which the capture reads from.
+     * @return A snapshot free to capture into.
+     */
+    private RenderSnapshot freeSnapshot(RenderSnapshot latest) {
+        for (RenderSnapshot candidate : snapshots) {
+            if (candidate != latest && !candidate.isRetained()) {
+                return candidate;
+            }
+        }
+        RenderSnapshot created = new RenderSnapshot();
+        snapshots.add(created);
+        return created;
+    }
+}
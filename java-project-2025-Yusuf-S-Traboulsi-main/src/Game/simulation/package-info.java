@@ -0,0 +1,5 @@
+/**
+ * Contains classes for driving game worlds outside the Swing event loop.
+ * This includes the simulation thread that steps the world during play and headless level runners used for batch testing.
+ */
+package game.simulation;